@@ -2,8 +2,10 @@ package br.com.uniasselvi.projeto.de.extensao;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ProjetoDeExtensaoApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,43 @@
+package br.com.uniasselvi.projeto.de.extensao.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import javax.cache.CacheManager;
+
+// Publica no /actuator/prometheus as estatísticas de cada região do cache de segundo nível, direto do Caffeine:
+// cache.gets (hit/miss), cache.puts, cache.removals, cache.evictions.
+// As estatísticas do próprio Hibernate (hibernate.second.level.cache.requests, hibernate.query.cache.requests...)
+// o Spring Boot já publica sozinho, porque o hibernate-micrometer está no classpath.
+@Configuration
+public class CacheMetricsConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    public CacheMetricsConfig(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Depois de subir: as regiões do Hibernate já foram criadas
+    @EventListener(ApplicationReadyEvent.class)
+    public void registrarMetricas() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        RegionFactory regionFactory = sessionFactory.getCache().getRegionFactory();
+        if (regionFactory instanceof JCacheRegionFactory jcache) {
+            CacheManager cacheManager = jcache.getCacheManager();
+            for (String nome : cacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(meterRegistry, cacheManager.getCache(nome), Tags.of("camada", "hibernate"));
+            }
+        }
+    }
+}
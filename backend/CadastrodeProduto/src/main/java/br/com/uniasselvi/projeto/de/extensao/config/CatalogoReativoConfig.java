@@ -0,0 +1,102 @@
+package br.com.uniasselvi.projeto.de.extensao.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+
+// Acesso R2DBC da leitura reativa (/reativo/produtos). Só existe com catalogo.reativo.enabled=true.
+// Usa o mesmo banco, usuário e senha do JDBC, convertendo a URL (urlR2dbc).
+// O pool NÃO vira bean: com um ConnectionFactory no contexto o Spring Boot deixa de criar o DataSource
+// (e junto vai o JPA). Por isso a autoconfiguração R2DBC fica desligada no application.properties
+// e o R2dbcEntityTemplate é montado aqui.
+@Configuration
+@ConditionalOnProperty(name = "catalogo.reativo.enabled", havingValue = "true")
+public class CatalogoReativoConfig {
+
+    // Linhas pedidas ao Postgres por vez: o banco só manda o próximo bloco quando o cliente
+    // HTTP consumiu o anterior (backpressure de ponta a ponta)
+    private static final Option<Integer> FETCH_SIZE = Option.valueOf("fetchSize");
+
+    private static final Map<String, String> NOMES_R2DBC = Map.of(
+            "sslmode", "sslMode",
+            "currentSchema", "schema",
+            "ApplicationName", "applicationName");
+
+    private ConnectionPool pool;
+
+    @Bean
+    public R2dbcEntityTemplate r2dbcEntityTemplate(DataSourceProperties dataSource, MeterRegistry meterRegistry,
+                                                   @Value("${catalogo.reativo.url:}") String url,
+                                                   @Value("${catalogo.reativo.pool:10}") int tamanho,
+                                                   @Value("${catalogo.reativo.fetch-size:500}") int fetchSize,
+                                                   @Value("${catalogo.reativo.espera-conexao:5s}") Duration espera) {
+        ConnectionFactoryOptions.Builder opcoes = ConnectionFactoryOptions
+                .parse(url.isBlank() ? urlR2dbc(dataSource.getUrl()) : url)
+                .mutate()
+                .option(FETCH_SIZE, fetchSize);
+        if (dataSource.getUsername() != null) {
+            opcoes.option(ConnectionFactoryOptions.USER, dataSource.getUsername());
+        }
+        if (dataSource.getPassword() != null) {
+            opcoes.option(ConnectionFactoryOptions.PASSWORD, dataSource.getPassword());
+        }
+
+        // Como no Hikari: tamanho fixo e espera curta por conexão
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes.build()))
+                .name("catalogo-reativo")
+                .initialSize(tamanho)
+                .maxSize(tamanho)
+                .maxAcquireTime(espera)
+                .build());
+
+        // r2dbc.pool.acquired, r2dbc.pool.pending... no /actuator/prometheus, ao lado das métricas do Hikari
+        new ConnectionPoolMetrics(pool, "catalogo-reativo", Tags.empty()).bindTo(meterRegistry);
+        return new R2dbcEntityTemplate(pool);
+    }
+
+    @PreDestroy
+    public void fechar() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    // jdbc:postgresql://host:5432/banco?sslmode=require -> r2dbc:postgresql://host:5432/banco?sslMode=require
+    // O R2DBC não aceita usuário e senha na query string (eles vêm de spring.datasource.username/password)
+    // e chama algumas opções por outro nome
+    static String urlR2dbc(String urlJdbc) {
+        if (urlJdbc == null || !urlJdbc.startsWith("jdbc:")) {
+            throw new IllegalStateException("Informe catalogo.reativo.url: não deu para converter a URL do banco " + urlJdbc);
+        }
+        String url = "r2dbc:" + urlJdbc.substring("jdbc:".length());
+        int inicioQuery = url.indexOf('?');
+        if (inicioQuery < 0) {
+            return url;
+        }
+        StringJoiner opcoes = new StringJoiner("&", "?", "").setEmptyValue("");
+        for (String opcao : url.substring(inicioQuery + 1).split("&")) {
+            String nome = opcao.split("=", 2)[0];
+            if (nome.isEmpty() || nome.equals("user") || nome.equals("password")) {
+                continue;
+            }
+            opcoes.add(NOMES_R2DBC.getOrDefault(nome, nome) + opcao.substring(nome.length()));
+        }
+        return url.substring(0, inicioQuery) + opcoes;
+    }
+}
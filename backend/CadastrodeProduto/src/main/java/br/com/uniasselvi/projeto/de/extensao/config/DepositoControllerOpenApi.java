@@ -0,0 +1,55 @@
+package br.com.uniasselvi.projeto.de.extensao.config;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.AjusteEstoqueDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.EstoqueDepositoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.EstoqueDepositoPaginaDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Deposito;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+@Tag(name = "Depósitos", description = "Estoque de cada depósito. O 'quantidade' de /produtos é o total de todos")
+public interface DepositoControllerOpenApi {
+
+    @Operation(summary = "Listar depósitos", description = "Todos os depósitos; o PRINCIPAL (id 1) sempre existe")
+    ResponseEntity<List<Deposito>> getAll();
+
+    @Operation(summary = "Cadastrar depósito", description = "Cria o depósito, já pronto para receber estoque")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Depósito criado"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+            @ApiResponse(responseCode = "409", description = "Já existe um depósito com esse código")
+    })
+    ResponseEntity<Deposito> create(@Valid Deposito deposito);
+
+    @Operation(summary = "Estoque do depósito",
+            description = "Até 'limite' produtos do depósito com id maior que 'cursor'. Use o 'nextCursor' "
+                    + "da resposta para pedir a próxima página (null = fim)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página do estoque"),
+            @ApiResponse(responseCode = "404", description = "Depósito não encontrado")
+    })
+    ResponseEntity<EstoqueDepositoPaginaDTO> getEstoque(long depositoId, Long cursor, int limite);
+
+    @Operation(summary = "Estoque de um produto no depósito")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quantidade do produto no depósito"),
+            @ApiResponse(responseCode = "404", description = "Depósito ou produto não encontrado")
+    })
+    ResponseEntity<EstoqueDepositoDTO> getEstoqueProduto(long depositoId, Long id);
+
+    @Operation(summary = "Entrada ou saída no depósito",
+            description = "Soma 'delta' (negativo = saída) ao estoque do produto no depósito e ao total do produto. "
+                    + "O ajuste vai para os sistemas de fora (outbox) e para GET /produtos/eventos com o id do depósito")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estoque do produto no depósito depois do ajuste"),
+            @ApiResponse(responseCode = "404", description = "Depósito ou produto não encontrado"),
+            @ApiResponse(responseCode = "409", description = "O depósito não tem o suficiente para a saída")
+    })
+    ResponseEntity<EstoqueDepositoDTO> adjustStock(long depositoId, Long id, @Valid AjusteEstoqueDTO ajuste);
+}
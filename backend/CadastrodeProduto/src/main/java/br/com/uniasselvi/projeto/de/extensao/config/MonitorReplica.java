@@ -0,0 +1,190 @@
+package br.com.uniasselvi.projeto.de.extensao.config;
+
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco.Rota;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+// Decide a rota de cada transação e acompanha o atraso da réplica.
+// Somente leitura vai para a réplica, a não ser que:
+//  - a réplica esteja atrasada além de banco.replica.atraso-maximo (ou sem resposta), ou
+//  - o mesmo cliente (usuário logado, IP antes do login, ou a thread fora de requisição) tenha gravado há pouco:
+//    lê o que acabou de gravar.
+// A "janela" depois de uma gravação é o atraso máximo + o tempo até a conferência ser considerada velha:
+// passado isso, a réplica (que estava dentro do limite) com certeza já tem a gravação.
+public class MonitorReplica {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplica.class);
+
+    // Conferências sem resposta toleradas antes de tirar a réplica do ar
+    private static final int VERIFICACOES_TOLERADAS = 3;
+
+    // "Há muito tempo", sem estourar o long nas subtrações com o relógio
+    private static final long NUNCA = Long.MIN_VALUE / 2;
+
+    private static final String ATRASO_REPLICA = """
+            SELECT pg_is_in_recovery(),
+                   pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn),
+                   EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()) * 1000
+            """;
+
+    private final DataSource primario;
+    private final DataSource replica;
+    private final long atrasoMaximoMs;
+    private final long validadeVerificacaoMs;
+    private final long janelaMs;
+    private final LongSupplier relogio; // ms
+
+    // Quem gravou dentro da janela (a entrada expira sozinha)
+    private final Cache<String, Boolean> gravaramAgora;
+
+    private volatile long atrasoMs = Long.MAX_VALUE;
+    private volatile long verificadoEm = NUNCA;
+    private volatile long ultimaGravacao = NUNCA;
+
+    private final Counter noPrimario;
+    private final Counter naReplica;
+
+    public MonitorReplica(DataSource primario, DataSource replica, Duration atrasoMaximo, Duration intervalo,
+                          MeterRegistry meterRegistry) {
+        this(primario, replica, atrasoMaximo, intervalo, meterRegistry, System::currentTimeMillis);
+    }
+
+    MonitorReplica(DataSource primario, DataSource replica, Duration atrasoMaximo, Duration intervalo,
+                   MeterRegistry meterRegistry, LongSupplier relogio) {
+        this.primario = primario;
+        this.replica = replica;
+        this.atrasoMaximoMs = atrasoMaximo.toMillis();
+        this.validadeVerificacaoMs = intervalo.toMillis() * VERIFICACOES_TOLERADAS;
+        this.janelaMs = atrasoMaximoMs + validadeVerificacaoMs;
+        this.relogio = relogio;
+        this.gravaramAgora = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(janelaMs))
+                .maximumSize(100_000)
+                .ticker(() -> relogio.getAsLong() * 1_000_000)
+                .build();
+
+        Gauge.builder("banco.replica.atraso", this, m -> m.atrasoMs == Long.MAX_VALUE ? -1 : m.atrasoMs)
+                .description("Atraso da réplica na última conferência (-1 = sem resposta)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("banco.replica.disponivel", this, m -> m.replicaEmDia() ? 1 : 0)
+                .description("1 se as leituras estão indo para a réplica")
+                .register(meterRegistry);
+        noPrimario = rota(meterRegistry, Rota.PRIMARIO);
+        naReplica = rota(meterRegistry, Rota.REPLICA);
+    }
+
+    private static Counter rota(MeterRegistry meterRegistry, Rota rota) {
+        return Counter.builder("banco.transacoes")
+                .description("Transações por banco de destino")
+                .tag("rota", rota.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+
+    // --- DECISÃO (no início de cada transação) ---
+
+    Rota decidir(boolean somenteLeitura) {
+        Rota rota = somenteLeitura && !RoteamentoBanco.forcadoNoPrimario() && replicaEmDia()
+                && !gravouAgora(clienteAtual()) ? Rota.REPLICA : Rota.PRIMARIO;
+        (rota == Rota.REPLICA ? naReplica : noPrimario).increment();
+        return rota;
+    }
+
+    // Chamado quando uma transação de escrita termina
+    void registrarGravacao(String cliente) {
+        ultimaGravacao = relogio.getAsLong();
+        gravaramAgora.put(cliente, Boolean.TRUE);
+    }
+
+    // Alguém gravou dentro da janela: a réplica pode ainda não ter a gravação.
+    // Nesse caso o que for lido dela não entra no cache de segundo nível (senão ficaria lá o dado velho).
+    boolean gravacaoRecente() {
+        return relogio.getAsLong() - ultimaGravacao < janelaMs;
+    }
+
+    boolean replicaEmDia() {
+        return relogio.getAsLong() - verificadoEm <= validadeVerificacaoMs && atrasoMs <= atrasoMaximoMs;
+    }
+
+    private boolean gravouAgora(String cliente) {
+        return gravaramAgora.getIfPresent(cliente) != null;
+    }
+
+    // Usuário autenticado; antes do login (cadastro, login, filtro de segurança), o IP;
+    // fora de requisição, a própria thread
+    static String clienteAtual() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao != null && autenticacao.isAuthenticated() && !(autenticacao instanceof AnonymousAuthenticationToken)) {
+            return "usuario:" + autenticacao.getName();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes requisicao) {
+            return "ip:" + requisicao.getRequest().getRemoteAddr();
+        }
+        return "thread:" + Thread.currentThread().getId(); // Importação e outras tarefas em segundo plano
+    }
+
+    // --- CONFERÊNCIA DO ATRASO ---
+
+    @Scheduled(fixedDelayString = "${banco.replica.verificacao-ms:1000}")
+    public void verificar() {
+        try {
+            atrasoMs = medirAtraso();
+            verificadoEm = relogio.getAsLong();
+        } catch (SQLException | RuntimeException e) {
+            // Sem resposta: depois de VERIFICACOES_TOLERADAS conferências as leituras voltam para o primário
+            log.warn("Não foi possível medir o atraso da réplica: {}", e.getMessage());
+        }
+    }
+
+    // 0 se a réplica já aplicou tudo o que o primário tinha no momento da consulta;
+    // senão, há quanto tempo foi gravada a última transação que ela aplicou
+    private long medirAtraso() throws SQLException {
+        String posicaoPrimario;
+        try (Connection conexao = primario.getConnection();
+             Statement consulta = conexao.createStatement();
+             ResultSet resultado = consulta.executeQuery("SELECT CAST(pg_current_wal_lsn() AS TEXT)")) {
+            resultado.next();
+            posicaoPrimario = resultado.getString(1);
+        }
+
+        try (Connection conexao = replica.getConnection();
+             PreparedStatement consulta = conexao.prepareStatement(ATRASO_REPLICA)) {
+            consulta.setString(1, posicaoPrimario);
+            try (ResultSet resultado = consulta.executeQuery()) {
+                resultado.next();
+                if (!resultado.getBoolean(1) || resultado.getBoolean(2)) {
+                    return 0; // Em dia (ou um banco comum fazendo papel de réplica, nos testes locais)
+                }
+                double atraso = resultado.getDouble(3);
+                return resultado.wasNull() ? Long.MAX_VALUE : Math.max(0, (long) atraso);
+            }
+        }
+    }
+
+    // Para os testes: como se a conferência tivesse medido este atraso agora
+    void atualizarAtraso(long atrasoMs) {
+        this.atrasoMs = atrasoMs;
+        this.verificadoEm = relogio.getAsLong();
+    }
+}
@@ -1,19 +1,89 @@
 package br.com.uniasselvi.projeto.de.extensao.config;
 
+import br.com.uniasselvi.projeto.de.extensao.dto.AjusteEstoqueDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.AlteracoesProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.DashboardDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.DashboardResumoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ProdutoFiltroDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ProdutoPaginaDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ResultadoLoteDTO;
 import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 
 @Tag(name = "Produtos", description = "Gerenciamento de produtos da loja")
 public interface ProdutoControllerOpenApi {
 
-    @Operation(summary = "Listar todos", description = "Retorna a lista completa de produtos")
-    ResponseEntity<List<Produto>> getAll();
+    @Operation(summary = "Listar todos",
+            description = "Retorna a lista completa de produtos, com ETag. Mandando If-None-Match com a ETag "
+                    + "recebida, a resposta é 304 (sem corpo) enquanto nenhum produto mudar. Enquanto alguma "
+                    + "gravação no catálogo ainda está em andamento a resposta vem sem ETag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de produtos"),
+            @ApiResponse(responseCode = "304", description = "Nada mudou desde a ETag informada")
+    })
+    ResponseEntity<List<Produto>> getAll(WebRequest request);
+
+    @Operation(summary = "Listar paginado",
+            description = "Retorna até 'limite' produtos com id maior que 'cursor', aplicando os filtros informados. "
+                    + "Use o 'nextCursor' da resposta para pedir a próxima página (null = fim da lista)")
+    ResponseEntity<ProdutoPaginaDTO> getPagina(Long cursor, int limite, ProdutoFiltroDTO filtro);
+
+    @Operation(summary = "Buscar produtos",
+            description = "Procura as palavras de 'q' (inteiras ou pelo começo) no nome e na categoria, sem diferenciar "
+                    + "maiúsculas e acentos. Todas as palavras precisam aparecer. Ordem: palavra inteira no nome, "
+                    + "começo de palavra no nome, categoria; no empate, o nome mais curto. Até 100 resultados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Produtos encontrados (lista vazia se nenhum)"),
+            @ApiResponse(responseCode = "503", description = "Índice de busca ainda carregando após a inicialização")
+    })
+    ResponseEntity<List<Produto>> search(String q, int limite);
+
+    @Operation(summary = "Alterações desde uma versão",
+            description = "Para quem mantém uma cópia local do catálogo: devolve os produtos criados ou alterados "
+                    + "e os ids excluídos desde 'since', em páginas de até 'limite' itens de cada (máximo 1000). "
+                    + "Enquanto a resposta trouxer 'cursor', aplique a página e peça a próxima mandando o cursor; "
+                    + "a última vem sem cursor e com a 'versao' para usar como 'since' na próxima sincronização. "
+                    + "since=0 traz o catálogo inteiro. Um produto pode vir repetido; aplique substituindo pelo id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Uma página das alterações desde a versão informada"),
+            @ApiResponse(responseCode = "400", description = "Versão negativa ou cursor inválido")
+    })
+    ResponseEntity<AlteracoesProdutoDTO> getChanges(long since, String cursor, int limite);
+
+    @Operation(summary = "Eventos em tempo real",
+            description = "Server-Sent Events com um evento por mudança: criado, alterado, estoque (com o delta e o depositoId) e excluido. "
+                    + "Cliente lento recebe só o estado mais novo de cada produto; se ficar muito para trás, "
+                    + "recebe 'resync' e deve recarregar (ou chamar /produtos/changes). Um comentário 'ping' "
+                    + "chega a cada 15 s para manter a conexão")
+    SseEmitter eventos();
+
+    @Operation(summary = "Exportar catálogo",
+            description = "Envia todos os produtos em streaming, no formato NDJSON (padrão) ou CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo sendo transmitido"),
+            @ApiResponse(responseCode = "400", description = "Formato inválido")
+    })
+    void export(String formato, HttpServletResponse response) throws IOException;
+
+    @Operation(summary = "Produtos por categoria",
+            description = "Quantidade de produtos em cada categoria. Aceita If-None-Match (304 se nada mudou)")
+    ResponseEntity<List<DashboardDTO>> getDashboardData(WebRequest request);
+
+    @Operation(summary = "Resumo do estoque",
+            description = "Totais de produtos, unidades, valor em estoque e estoque baixo (menos de 5), gerais e por categoria. "
+                    + "Aceita If-None-Match (304 se nada mudou)")
+    ResponseEntity<DashboardResumoDTO> getDashboardResumo(WebRequest request);
 
     @Operation(summary = "Criar novo produto", description = "Valida o nome e salva no banco de dados")
     @ApiResponses(value = {
@@ -22,13 +92,46 @@ public interface ProdutoControllerOpenApi {
     })
     ResponseEntity<Produto> create(Produto produto);
 
-    @Operation(summary = "Atualizar produto")
+    @Operation(summary = "Atualizar produto",
+            description = "Se o corpo trouxer a versao lida antes e o produto tiver mudado desde então, devolve 409")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Produto atualizado"),
+            @ApiResponse(responseCode = "404", description = "Produto não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Nome já existe ou o produto foi alterado por outro usuário")
+    })
     ResponseEntity<Produto> update(Long id, Produto produto);
 
+    @Operation(summary = "Ajustar estoque",
+            description = "Soma o delta (negativo para saída) à quantidade atual com um único UPDATE atômico, "
+                    + "sem perder ajustes feitos ao mesmo tempo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estoque ajustado; devolve o produto atualizado"),
+            @ApiResponse(responseCode = "404", description = "Produto não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Estoque insuficiente para a saída")
+    })
+    ResponseEntity<Produto> adjustStock(Long id, @Valid AjusteEstoqueDTO ajuste);
+
     @Operation(summary = "Excluir produto")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Excluído com sucesso"),
             @ApiResponse(responseCode = "404", description = "Produto não encontrado")
     })
     ResponseEntity<Void> delete(Long id);
+
+    @Operation(summary = "Criar produtos em lote",
+            description = "Valida todos os nomes com uma consulta só e grava os itens válidos numa transação. "
+                    + "Cada item volta com seu status: 201, 400 (dados inválidos) ou 409 (nome repetido)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado (veja o status de cada item)"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou grande demais")
+    })
+    ResponseEntity<ResultadoLoteDTO> createBatch(List<Produto> produtos);
+
+    @Operation(summary = "Atualizar produtos em lote",
+            description = "Cada item precisa do id. Status por item: 200, 400, 404 ou 409")
+    ResponseEntity<ResultadoLoteDTO> updateBatch(List<Produto> produtos);
+
+    @Operation(summary = "Excluir produtos em lote",
+            description = "Recebe a lista de ids. Status por item: 204 ou 404")
+    ResponseEntity<ResultadoLoteDTO> deleteBatch(List<Long> ids);
 }
@@ -0,0 +1,24 @@
+package br.com.uniasselvi.projeto.de.extensao.config;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.DashboardResumoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Tag(name = "Produtos (leitura reativa)", description = "Consultas sem bloquear thread, ligadas com catalogo.reativo.enabled=true")
+public interface ProdutoReativoControllerOpenApi {
+
+    @Operation(summary = "Listar em streaming",
+            description = "Um produto por linha (NDJSON), em ordem de id, a partir de 'cursor'. "
+                    + "Sem 'limite' vem o catálogo inteiro, lido do banco conforme o cliente consome")
+    Flux<Produto> listar(Long cursor, String categoria, Integer limite);
+
+    @Operation(summary = "Buscar por id")
+    Mono<Produto> buscar(Long id);
+
+    @Operation(summary = "Resumo do dashboard",
+            description = "Os mesmos números de /produtos/dashboard/resumo, agregados direto no banco")
+    Mono<DashboardResumoDTO> resumo();
+}
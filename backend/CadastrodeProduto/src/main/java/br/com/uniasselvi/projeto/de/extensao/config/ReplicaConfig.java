@@ -0,0 +1,83 @@
+package br.com.uniasselvi.projeto.de.extensao.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Réplica de leitura: só existe com banco.replica.url preenchido. Sem ela o Spring Boot monta o DataSource de sempre.
+// Dois pools Hikari com as mesmas configurações (spring.datasource.hikari.*), "primario" e "replica",
+// atrás de um RoteadorDataSource; quem escolhe o pool de cada transação é o RoteamentoJpaDialect.
+// Para testar sem uma réplica de verdade, banco.replica.url pode apontar para o próprio primário
+// (ou para outro Postgres qualquer com o mesmo esquema): o monitor vê que ele não está em recuperação e trata como em dia.
+@Configuration
+@ConditionalOnExpression("!'${banco.replica.url:}'.isBlank()")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primario(DataSourceProperties propriedades) {
+        HikariDataSource primario = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primario.setPoolName("primario");
+        return primario;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource replica(DataSourceProperties propriedades,
+                                    @Value("${banco.replica.url}") String url,
+                                    @Value("${banco.replica.username:}") String usuario,
+                                    @Value("${banco.replica.password:}") String senha) {
+        HikariDataSource replica = propriedades.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(usuario.isBlank() ? propriedades.determineUsername() : usuario)
+                .password(senha.isBlank() ? propriedades.determinePassword() : senha)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true); // Um INSERT que escape para cá falha em vez de gravar no lugar errado
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primario") DataSource primario, @Qualifier("replica") DataSource replica) {
+        return new RoteadorDataSource(primario, replica);
+    }
+
+    @Bean
+    public MonitorReplica monitorReplica(@Qualifier("primario") DataSource primario,
+                                         @Qualifier("replica") DataSource replica,
+                                         @Value("${banco.replica.atraso-maximo:2s}") Duration atrasoMaximo,
+                                         @Value("${banco.replica.verificacao-ms:1000}") long verificacaoMs,
+                                         MeterRegistry meterRegistry) {
+        return new MonitorReplica(primario, replica, atrasoMaximo, Duration.ofMillis(verificacaoMs), meterRegistry);
+    }
+
+    // Troca o dialeto do JpaTransactionManager pelo que escolhe a rota. Static: o post-processor é criado
+    // antes dos outros beans, sem puxar esta configuração (e os DataSources) junto.
+    @Bean
+    public static BeanPostProcessor roteamentoJpa(ObjectProvider<MonitorReplica> monitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String nome) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean fabrica) {
+                    fabrica.setJpaDialect(new RoteamentoJpaDialect(monitor));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.uniasselvi.projeto.de.extensao.config;
+
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco.Rota;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// O DataSource que o JPA enxerga: cada getConnection() vai para o pool da rota da transação atual
+class RoteadorDataSource extends AbstractRoutingDataSource {
+
+    RoteadorDataSource(DataSource primario, DataSource replica) {
+        setTargetDataSources(Map.of(Rota.PRIMARIO, primario, Rota.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return RoteamentoBanco.rotaAtual();
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.uniasselvi.projeto.de.extensao.config;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+// Para qual banco vai cada transação quando existe réplica de leitura (banco.replica.url).
+// A rota é escolhida no início da transação (RoteamentoJpaDialect) e fica guardada na thread até ela terminar;
+// o RoteadorDataSource só consulta. Sem réplica configurada nada disso é usado e tudo vai para o único banco.
+public final class RoteamentoBanco {
+
+    public enum Rota { PRIMARIO, REPLICA }
+
+    // Pilha: uma transação REQUIRES_NEW dentro de outra tem a sua própria rota
+    private static final ThreadLocal<Deque<Rota>> ROTAS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<int[]> NO_PRIMARIO = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static final String LEITURA_ATRASADA = RoteamentoBanco.class.getName() + ".leituraAtrasada";
+
+    private RoteamentoBanco() {
+    }
+
+    // Leituras que precisam ver o primário mesmo sendo somente leitura
+    // (ex: conferência do dashboard, login logo depois do cadastro)
+    public static <T> T noPrimario(Supplier<T> leitura) {
+        int[] nivel = NO_PRIMARIO.get();
+        nivel[0]++;
+        try {
+            return leitura.get();
+        } finally {
+            if (--nivel[0] == 0) {
+                NO_PRIMARIO.remove();
+            }
+        }
+    }
+
+    // A requisição leu da réplica logo depois de alguma gravação: o que ela devolve pode ser de antes
+    // da versão atual do catálogo, então não deve sair com a ETag dessa versão (ProdutoController)
+    public static boolean leituraPodeEstarAtrasada() {
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        return requisicao != null && requisicao.getAttribute(LEITURA_ATRASADA, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    static void marcarLeituraAtrasada() {
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao != null) {
+            requisicao.setAttribute(LEITURA_ATRASADA, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    static boolean forcadoNoPrimario() {
+        return NO_PRIMARIO.get()[0] > 0;
+    }
+
+    // Fora de transação (Flyway, JDBC avulso) a rota é sempre o primário
+    static Rota rotaAtual() {
+        Rota rota = ROTAS.get().peek();
+        return rota == null ? Rota.PRIMARIO : rota;
+    }
+
+    static void entrar(Rota rota) {
+        ROTAS.get().push(rota);
+    }
+
+    static void sair() {
+        Deque<Rota> rotas = ROTAS.get();
+        rotas.poll();
+        if (rotas.isEmpty()) {
+            ROTAS.remove();
+        }
+    }
+}
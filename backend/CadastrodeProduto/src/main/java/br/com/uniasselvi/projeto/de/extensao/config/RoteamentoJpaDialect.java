@@ -0,0 +1,71 @@
+package br.com.uniasselvi.projeto.de.extensao.config;
+
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco.Rota;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+// Onde a rota é escolhida: no começo de cada transação do JpaTransactionManager (@Transactional,
+// TransactionTemplate e os métodos dos repositórios), antes de o Hibernate pegar a conexão.
+// readOnly = true pode ir para a réplica; o resto vai para o primário.
+// Uma transação que participa de outra (REQUIRED dentro de REQUIRED) não passa por aqui e usa a mesma conexão.
+class RoteamentoJpaDialect extends HibernateJpaDialect {
+
+    private final ObjectProvider<MonitorReplica> monitor;
+
+    RoteamentoJpaDialect(ObjectProvider<MonitorReplica> monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        MonitorReplica replica = monitor.getObject();
+        Rota rota = replica.decidir(definition.isReadOnly());
+        String cliente = definition.isReadOnly() ? null : MonitorReplica.clienteAtual();
+
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode anterior = session.getCacheMode();
+        if (rota == Rota.REPLICA && replica.gravacaoRecente()) {
+            // A réplica pode ainda não ter a última gravação: lê do cache, mas não guarda nele o que veio dela
+            session.setCacheMode(CacheMode.GET);
+            RoteamentoBanco.marcarLeituraAtrasada();
+        }
+
+        RoteamentoBanco.entrar(rota);
+        try {
+            return new Transacao(super.beginTransaction(entityManager, definition), session, anterior,
+                    !definition.isReadOnly(), cliente);
+        } catch (SQLException | RuntimeException e) {
+            RoteamentoBanco.sair();
+            session.setCacheMode(anterior);
+            throw e;
+        }
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (!(transactionData instanceof Transacao transacao)) {
+            super.cleanupTransaction(transactionData);
+            return;
+        }
+        try {
+            super.cleanupTransaction(transacao.dadosHibernate());
+        } finally {
+            transacao.session().setCacheMode(transacao.anterior());
+            RoteamentoBanco.sair();
+            if (transacao.escrita()) {
+                monitor.getObject().registrarGravacao(transacao.cliente());
+            }
+        }
+    }
+
+    private record Transacao(Object dadosHibernate, Session session, CacheMode anterior,
+                             boolean escrita, String cliente) {
+    }
+}
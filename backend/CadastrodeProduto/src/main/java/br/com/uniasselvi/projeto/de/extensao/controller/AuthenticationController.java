@@ -6,17 +6,24 @@ import br.com.uniasselvi.projeto.de.extensao.dto.LoginResponseDTO;
 import br.com.uniasselvi.projeto.de.extensao.dto.RegisterDTO;
 import br.com.uniasselvi.projeto.de.extensao.entity.Usuario;
 import br.com.uniasselvi.projeto.de.extensao.repository.UsuarioRepository;
+import br.com.uniasselvi.projeto.de.extensao.security.LimitadorTentativas;
+import br.com.uniasselvi.projeto.de.extensao.service.HashSenhaService;
 import br.com.uniasselvi.projeto.de.extensao.service.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("auth")
@@ -31,37 +38,60 @@ public class AuthenticationController {
     @Autowired
     private TokenService tokenService; // Nossa máquina de pulseiras
 
+    @Autowired
+    private PasswordEncoder passwordEncoder; // O mesmo BCrypt que o AuthenticationManager usa
+
+    @Autowired
+    private HashSenhaService hashSenha; // Pool separado só para o BCrypt
+
+    @Autowired
+    private LimitadorTentativas limitador;
+
     // 1. ROTA DE LOGIN (Troca Login/Senha por Token)
+    // Devolver um CompletableFuture libera a thread do Tomcat enquanto o BCrypt roda no pool de hash
     @PostMapping("/login")
-    public ResponseEntity login(@RequestBody @Valid AuthenticationDTO data) {
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> login(@RequestBody @Valid AuthenticationDTO data,
+                                                                     HttpServletRequest request) {
+        limitar(request, data.login());
+
         // Cria um objeto de autenticação com login e senha (ainda não validado)
         var usernamePassword = new UsernamePasswordAuthenticationToken(data.login(), data.senha());
 
         // O Spring vai no banco, acha o usuário, checa o hash da senha e valida tudo
-        var auth = this.authenticationManager.authenticate(usernamePassword);
-
-        // Se deu certo, geramos o token
-        var token = tokenService.generateToken((Usuario) auth.getPrincipal());
-
-        // Devolvemos o token para o usuário
-        return ResponseEntity.ok(new LoginResponseDTO(token));
+        return hashSenha.executar(() -> this.authenticationManager.authenticate(usernamePassword))
+                // Se deu certo, geramos o token e devolvemos para o usuário
+                .thenApply(auth -> ResponseEntity.ok(new LoginResponseDTO(tokenService.generateToken((Usuario) auth.getPrincipal()))));
     }
 
     // 2. ROTA DE REGISTRO (Cria usuário novo)
     @PostMapping("/register")
-    public ResponseEntity register(@RequestBody @Valid RegisterDTO data) {
+    public CompletableFuture<ResponseEntity<Void>> register(@RequestBody @Valid RegisterDTO data,
+                                                            HttpServletRequest request) {
+        limitar(request, data.login());
+
         // Verifica se já existe alguém com esse login
-        if (this.repository.findByLogin(data.login()) != null) return ResponseEntity.badRequest().build();
+        if (this.repository.findByLogin(data.login()) != null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
 
         // --- O PULO DO GATO: CRIPTOGRAFIA ---
         // Jamais salvamos senha pura ("123456"). Transformamos em hash.
-        String encryptedPassword = new BCryptPasswordEncoder().encode(data.senha());
+        return hashSenha.executar(() -> passwordEncoder.encode(data.senha()))
+                .thenApply(encryptedPassword -> {
+                    // Cria o usuário com a senha criptografada
+                    Usuario newUser = new Usuario(data.login(), encryptedPassword, data.role());
 
-        // Cria o usuário com a senha criptografada
-        Usuario newUser = new Usuario(data.login(), encryptedPassword, data.role());
+                    this.repository.save(newUser);
 
-        this.repository.save(newUser);
+                    return ResponseEntity.ok().<Void>build();
+                });
+    }
 
-        return ResponseEntity.ok().build();
+    // Cada tentativa gasta uma ficha do IP e uma do login; sem ficha, 429 antes de qualquer BCrypt
+    private void limitar(HttpServletRequest request, String login) {
+        if (!limitador.permitirIp(request.getRemoteAddr()) || !limitador.permitirLogin(String.valueOf(login))) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Muitas tentativas; aguarde um pouco e tente novamente");
+        }
     }
 }
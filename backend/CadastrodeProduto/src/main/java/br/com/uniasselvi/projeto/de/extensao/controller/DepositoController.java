@@ -0,0 +1,63 @@
+package br.com.uniasselvi.projeto.de.extensao.controller;
+
+import br.com.uniasselvi.projeto.de.extensao.config.DepositoControllerOpenApi;
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco;
+import br.com.uniasselvi.projeto.de.extensao.dto.AjusteEstoqueDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.EstoqueDepositoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.EstoqueDepositoPaginaDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Deposito;
+import br.com.uniasselvi.projeto.de.extensao.service.DepositoService;
+import br.com.uniasselvi.projeto.de.extensao.service.ProdutoService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Estoque por depósito. Os endpoints sem depósito (/produtos) continuam valendo para o depósito principal,
+// e o "quantidade" de /produtos é sempre o total de todos os depósitos.
+@RestController
+@RequestMapping("/depositos")
+public class DepositoController implements DepositoControllerOpenApi {
+
+    private final DepositoService service;
+    private final ProdutoService produtoService;
+
+    public DepositoController(DepositoService service, ProdutoService produtoService) {
+        this.service = service;
+        this.produtoService = produtoService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Deposito>> getAll() {
+        return ResponseEntity.ok(service.listar());
+    }
+
+    @PostMapping
+    public ResponseEntity<Deposito> create(@Valid @RequestBody Deposito deposito) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.criar(deposito));
+    }
+
+    // Tudo o que o depósito tem, em páginas (cursor = id do último produto recebido)
+    @GetMapping("/{depositoId}/estoque")
+    public ResponseEntity<EstoqueDepositoPaginaDTO> getEstoque(@PathVariable long depositoId,
+                                                               @RequestParam(required = false) Long cursor,
+                                                               @RequestParam(defaultValue = "100") int limite) {
+        return ResponseEntity.ok(service.listarEstoque(depositoId, cursor, limite));
+    }
+
+    @GetMapping("/{depositoId}/produtos/{id}/estoque")
+    public ResponseEntity<EstoqueDepositoDTO> getEstoqueProduto(@PathVariable long depositoId, @PathVariable Long id) {
+        return ResponseEntity.ok(service.estoque(depositoId, id));
+    }
+
+    // Entrada/saída no depósito (409 se o depósito ficaria negativo); o total do produto muda junto
+    @PatchMapping("/{depositoId}/produtos/{id}/estoque")
+    public ResponseEntity<EstoqueDepositoDTO> adjustStock(@PathVariable long depositoId, @PathVariable Long id,
+                                                          @Valid @RequestBody AjusteEstoqueDTO ajuste) {
+        produtoService.ajustarEstoque(depositoId, id, ajuste.delta());
+        // Acabou de gravar: a réplica pode ainda não ter o ajuste
+        return ResponseEntity.ok(RoteamentoBanco.noPrimario(() -> service.estoque(depositoId, id)));
+    }
+}
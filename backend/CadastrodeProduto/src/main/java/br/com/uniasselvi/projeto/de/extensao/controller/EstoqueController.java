@@ -0,0 +1,48 @@
+package br.com.uniasselvi.projeto.de.extensao.controller;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.EstoqueProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.PosicaoEstoqueDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.MovimentoEstoque;
+import br.com.uniasselvi.projeto.de.extensao.service.DepositoService;
+import br.com.uniasselvi.projeto.de.extensao.service.EstoqueService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+// Consultas ao histórico de estoque (o ajuste em si fica no PATCH /produtos/{id}/estoque)
+@RestController
+@RequestMapping("/produtos/{id}")
+public class EstoqueController {
+
+    private final EstoqueService service;
+    private final DepositoService depositoService;
+
+    public EstoqueController(EstoqueService service, DepositoService depositoService) {
+        this.service = service;
+        this.depositoService = depositoService;
+    }
+
+    // Quantidade agora, ou na data pedida (?em=2026-01-31T23:59:59Z)
+    @GetMapping("/estoque")
+    public ResponseEntity<PosicaoEstoqueDTO> posicao(@PathVariable Long id,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant em) {
+        return ResponseEntity.ok(service.posicao(id, em));
+    }
+
+    // Quanto há em cada depósito, e o total
+    @GetMapping("/estoque/depositos")
+    public ResponseEntity<EstoqueProdutoDTO> porDeposito(@PathVariable Long id) {
+        return ResponseEntity.ok(depositoService.estoqueDoProduto(id));
+    }
+
+    // Últimas entradas, saídas e ajustes do produto
+    @GetMapping("/movimentos")
+    public ResponseEntity<List<MovimentoEstoque>> movimentos(@PathVariable Long id,
+                                                             @RequestParam(defaultValue = "50") int limite) {
+        return ResponseEntity.ok(service.historico(id, limite));
+    }
+}
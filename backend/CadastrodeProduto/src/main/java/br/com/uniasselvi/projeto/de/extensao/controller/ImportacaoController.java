@@ -0,0 +1,48 @@
+package br.com.uniasselvi.projeto.de.extensao.controller;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.ImportacaoStatusDTO;
+import br.com.uniasselvi.projeto.de.extensao.service.ImportacaoService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/produtos/import")
+public class ImportacaoController {
+
+    private final ImportacaoService service;
+
+    public ImportacaoController(ImportacaoService service) {
+        this.service = service;
+    }
+
+    // Envia a planilha (CSV) e recebe o id da importação, que roda em segundo plano
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportacaoStatusDTO> importar(@RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+        ImportacaoStatusDTO status = service.iniciar(arquivo);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+    }
+
+    // Consulta o andamento (linhas lidas, importadas, rejeitadas)
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportacaoStatusDTO> status(@PathVariable String id) {
+        return ResponseEntity.ok(service.status(id));
+    }
+
+    // Baixa o CSV com as linhas rejeitadas e o motivo
+    @GetMapping("/{id}/rejeitados")
+    public ResponseEntity<Resource> rejeitados(@PathVariable String id) {
+        Resource relatorio = new FileSystemResource(service.relatorioRejeitados(id));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=rejeitados-" + id + ".csv")
+                .body(relatorio);
+    }
+}
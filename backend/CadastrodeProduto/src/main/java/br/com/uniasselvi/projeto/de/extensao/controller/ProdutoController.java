@@ -1,15 +1,39 @@
 package br.com.uniasselvi.projeto.de.extensao.controller;
 
 import br.com.uniasselvi.projeto.de.extensao.config.ProdutoControllerOpenApi;
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco;
+import br.com.uniasselvi.projeto.de.extensao.dto.AjusteEstoqueDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.AlteracoesProdutoDTO;
 import br.com.uniasselvi.projeto.de.extensao.dto.DashboardDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.DashboardResumoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ProdutoFiltroDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ProdutoPaginaDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ResultadoLoteDTO;
 import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
 import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import br.com.uniasselvi.projeto.de.extensao.service.BuscaProdutoService;
+import br.com.uniasselvi.projeto.de.extensao.service.DashboardService;
+import br.com.uniasselvi.projeto.de.extensao.service.EventosProdutoService;
+import br.com.uniasselvi.projeto.de.extensao.service.ProdutoExportService;
+import br.com.uniasselvi.projeto.de.extensao.service.ProdutoExportService.FormatoExportacao;
 import br.com.uniasselvi.projeto.de.extensao.service.ProdutoService;
+import br.com.uniasselvi.projeto.de.extensao.service.SincronizacaoService;
+import br.com.uniasselvi.projeto.de.extensao.service.VersaoCatalogo;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/produtos")
@@ -17,24 +41,120 @@ public class ProdutoController implements ProdutoControllerOpenApi {
 
     private final ProdutoRepository repository;
     private final ProdutoService service;
-
-    public ProdutoController(ProdutoRepository repository, ProdutoService service) {
+    private final ProdutoExportService exportService;
+    private final DashboardService dashboardService;
+    private final VersaoCatalogo versaoCatalogo;
+    private final SincronizacaoService sincronizacaoService;
+    private final EventosProdutoService eventos;
+    private final BuscaProdutoService busca;
+
+    public ProdutoController(ProdutoRepository repository, ProdutoService service,
+                             ProdutoExportService exportService, DashboardService dashboardService,
+                             VersaoCatalogo versaoCatalogo, SincronizacaoService sincronizacaoService,
+                             EventosProdutoService eventos, BuscaProdutoService busca) {
         this.repository = repository;
         this.service = service;
+        this.exportService = exportService;
+        this.dashboardService = dashboardService;
+        this.versaoCatalogo = versaoCatalogo;
+        this.sincronizacaoService = sincronizacaoService;
+        this.eventos = eventos;
+        this.busca = busca;
     }
 
 
     // Listar todos
     @GetMapping
-    public ResponseEntity<List<Produto>> getAll() {
+    public ResponseEntity<List<Produto>> getAll(WebRequest request) {
+        // A versão é lida antes da consulta: se alguém gravar no meio, a próxima chamada baixa tudo de novo
+        String etag = versaoCatalogo.etag();
+        if (etag != null && request.checkNotModified(etag)) {
+            return null; // 304 sem ir ao banco
+        }
         List<Produto> lista = repository.findAll();
-        return ResponseEntity.ok(lista);
+        return comVersao(etag, lista);
+    }
+
+    // Listar em páginas (cursor = id do último item recebido), com filtros no servidor
+    @GetMapping("/pagina")
+    public ResponseEntity<ProdutoPaginaDTO> getPagina(@RequestParam(required = false) Long cursor,
+                                                      @RequestParam(defaultValue = "50") int limite,
+                                                      @ModelAttribute ProdutoFiltroDTO filtro) {
+        return ResponseEntity.ok(service.listarPagina(cursor, limite, filtro));
+    }
+
+    // Busca por nome e categoria, sem diferenciar acentos ("acucar" acha "Açúcar"), da mais relevante para a menos
+    @GetMapping("/search")
+    public ResponseEntity<List<Produto>> search(@RequestParam String q,
+                                                @RequestParam(defaultValue = "20") int limite) {
+        return ResponseEntity.ok(busca.buscar(q, limite));
+    }
+
+    // Só o que mudou desde a versão que o cliente já tem (since=0 na primeira vez = catálogo inteiro),
+    // em páginas: enquanto vier cursor, o cliente pede a próxima com ele
+    @GetMapping("/changes")
+    public ResponseEntity<AlteracoesProdutoDTO> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "500") int limite) {
+        return ResponseEntity.ok(sincronizacaoService.alteracoesDesde(since, cursor, limite));
+    }
+
+    // Conexão aberta (Server-Sent Events) que recebe cada criação, alteração, exclusão e ajuste de estoque
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos() {
+        return eventos.assinar();
+    }
+
+    // Exportar o catálogo inteiro em streaming (NDJSON = um JSON por linha, ou CSV)
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String formato,
+                       HttpServletResponse response) throws IOException {
+        FormatoExportacao formatoExportacao;
+        try {
+            formatoExportacao = FormatoExportacao.valueOf(formato.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato inválido: use ndjson ou csv");
+        }
+
+        response.setContentType(formatoExportacao.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=produtos." + formatoExportacao.getExtensao());
+
+        exportService.exportar(formatoExportacao, response.getOutputStream());
     }
 
     @GetMapping("/dashboard")
-    public ResponseEntity<List<DashboardDTO>> getDashboardData() {
-        // Nota: O ideal é passar pelo Service, mas para simplificar aqui chamo direto
-        return ResponseEntity.ok(repository.contarProdutosPorCategoria());
+    public ResponseEntity<List<DashboardDTO>> getDashboardData(WebRequest request) {
+        String etag = versaoCatalogo.etagDashboard();
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        // Vem dos contadores em memória, sem GROUP BY no banco a cada acesso
+        return comVersao(etag, dashboardService.contarPorCategoria());
+    }
+
+    @GetMapping("/dashboard/resumo")
+    public ResponseEntity<DashboardResumoDTO> getDashboardResumo(WebRequest request) {
+        String etag = versaoCatalogo.etagDashboard();
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        return comVersao(etag, dashboardService.resumo());
+    }
+
+    // no-cache = o navegador guarda a resposta, mas pergunta antes de usar (If-None-Match).
+    // Sem esse cabeçalho o Spring Security manda no-store e o navegador nunca reaproveita nada.
+    // Se a leitura veio da réplica logo depois de uma gravação, a lista pode ser de antes dessa versão:
+    // vai sem ETag, e o cliente baixa de novo na próxima vez em vez de guardar o dado velho com a versão nova.
+    private static <T> ResponseEntity<T> comVersao(String etag, T corpo) {
+        if (etag == null || RoteamentoBanco.leituraPodeEstarAtrasada()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(corpo);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(corpo);
     }
 
     // Criar novo
@@ -55,17 +175,36 @@ public class ProdutoController implements ProdutoControllerOpenApi {
         return ResponseEntity.ok(produtoSalvo);
     }
 
+    // Entrada/saída de estoque: soma o delta direto no banco (409 se o estoque ficaria negativo)
+    @PatchMapping("/{id}/estoque")
+    public ResponseEntity<Produto> adjustStock(@PathVariable Long id, @Valid @RequestBody AjusteEstoqueDTO ajuste) {
+        return ResponseEntity.ok(service.ajustarEstoque(id, ajuste.delta()));
+    }
+
     // Deletar
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
 
-        // Uma boa prática é verificar se existe antes de tentar deletar
-        if (!repository.existsById(id)) {
-            return ResponseEntity.notFound().build(); // Retorna 404 se o ID não existir
-        }
-
-        repository.deleteById(id);
+        // O service verifica se existe (404 se não) e atualiza o dashboard
+        service.excluir(id);
         return ResponseEntity.noContent().build();
     }
-}
 
+    // --- LOTES (importações do depósito) ---
+    // Cada item recebe seu próprio status; um item com erro não impede os outros de serem gravados
+
+    @PostMapping("/batch")
+    public ResponseEntity<ResultadoLoteDTO> createBatch(@RequestBody List<Produto> produtos) {
+        return ResponseEntity.ok(service.criarLote(produtos));
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<ResultadoLoteDTO> updateBatch(@RequestBody List<Produto> produtos) {
+        return ResponseEntity.ok(service.atualizarLote(produtos));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<ResultadoLoteDTO> deleteBatch(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(service.excluirLote(ids));
+    }
+}
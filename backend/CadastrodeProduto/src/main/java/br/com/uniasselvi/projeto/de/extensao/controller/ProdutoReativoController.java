@@ -0,0 +1,47 @@
+package br.com.uniasselvi.projeto.de.extensao.controller;
+
+import br.com.uniasselvi.projeto.de.extensao.config.ProdutoReativoControllerOpenApi;
+import br.com.uniasselvi.projeto.de.extensao.dto.DashboardResumoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.service.CatalogoReativoService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Leitura do catálogo para muitos clientes simultâneos (terminais de caixa, painéis).
+// O Spring MVC devolve a thread do Tomcat assim que recebe o Flux/Mono e escreve a resposta
+// quando o banco responde; o NDJSON sai item por item, no ritmo em que o cliente lê.
+@RestController
+@RequestMapping("/reativo/produtos")
+@ConditionalOnProperty(name = "catalogo.reativo.enabled", havingValue = "true")
+public class ProdutoReativoController implements ProdutoReativoControllerOpenApi {
+
+    private final CatalogoReativoService catalogo;
+
+    public ProdutoReativoController(CatalogoReativoService catalogo) {
+        this.catalogo = catalogo;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Produto> listar(@RequestParam(required = false) Long cursor,
+                                @RequestParam(required = false) String categoria,
+                                @RequestParam(required = false) Integer limite) {
+        return catalogo.listar(cursor, categoria, limite);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Produto> buscar(@PathVariable Long id) {
+        return catalogo.buscar(id);
+    }
+
+    @GetMapping("/dashboard/resumo")
+    public Mono<DashboardResumoDTO> resumo() {
+        return catalogo.resumo();
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+// Quanto somar (entrada) ou subtrair (saída, valor negativo) do estoque atual
+public record AjusteEstoqueDTO(@NotNull(message = "O delta é obrigatório") Integer delta) {
+}
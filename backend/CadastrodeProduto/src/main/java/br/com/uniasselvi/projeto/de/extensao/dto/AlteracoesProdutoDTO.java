@@ -0,0 +1,11 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+
+import java.util.List;
+
+// Resposta de GET /produtos/changes, em páginas: o cliente aplica os alterados (inserir ou substituir pelo id)
+// e apaga os excluidos de cada página. Enquanto vier cursor, pede a próxima com ele (versao vem null);
+// na última página o cursor vem null e a versao é a que ele guarda para mandar como "since" na próxima vez
+public record AlteracoesProdutoDTO(Long versao, List<Produto> alterados, List<Long> excluidos, String cursor) {
+}
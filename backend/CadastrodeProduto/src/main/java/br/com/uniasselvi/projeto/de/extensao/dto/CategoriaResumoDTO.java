@@ -0,0 +1,7 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+import java.math.BigDecimal;
+
+// Números de uma categoria: quantos produtos, quantas unidades, valor em estoque e quantos com estoque baixo
+public record CategoriaResumoDTO(String categoria, Long produtos, Long unidades, BigDecimal valorEstoque, Long estoqueBaixo) {
+}
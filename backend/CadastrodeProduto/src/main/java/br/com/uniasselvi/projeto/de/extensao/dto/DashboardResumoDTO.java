@@ -0,0 +1,9 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Dashboard completo: os totais gerais + o detalhamento por categoria
+public record DashboardResumoDTO(Long totalProdutos, Long totalUnidades, BigDecimal valorTotal, Long estoqueBaixo,
+                                 List<CategoriaResumoDTO> categorias) {
+}
@@ -0,0 +1,5 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+// Quantidade de um produto num depósito (deposito = código do depósito)
+public record EstoqueDepositoDTO(Long depositoId, String deposito, Long produtoId, int quantidade) {
+}
@@ -0,0 +1,7 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+import java.util.List;
+
+// Uma página do estoque de um depósito; o cursor é o id do último produto (null = acabou)
+public record EstoqueDepositoPaginaDTO(List<EstoqueDepositoDTO> itens, Long nextCursor) {
+}
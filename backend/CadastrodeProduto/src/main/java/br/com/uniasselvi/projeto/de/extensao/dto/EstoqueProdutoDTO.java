@@ -0,0 +1,7 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+import java.util.List;
+
+// Estoque de um produto em cada depósito. O total é o produto.quantidade (soma de todos, mantida a cada ajuste).
+public record EstoqueProdutoDTO(Long produtoId, int total, List<EstoqueDepositoDTO> depositos) {
+}
@@ -0,0 +1,42 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+
+import java.util.Objects;
+
+// Evento enviado em GET /produtos/eventos (SSE). Traz o produto como ficou depois da gravação
+// (null na exclusão) e, nos ajustes de estoque, quanto entrou ou saiu e em qual depósito.
+public record EventoProdutoDTO(Tipo tipo, Long produtoId, Produto produto, Integer delta, Long depositoId) {
+
+    public enum Tipo { CRIADO, ALTERADO, ESTOQUE, EXCLUIDO }
+
+    public static EventoProdutoDTO criado(Produto produto) {
+        return new EventoProdutoDTO(Tipo.CRIADO, produto.getId(), produto, null, null);
+    }
+
+    public static EventoProdutoDTO alterado(Produto produto) {
+        return new EventoProdutoDTO(Tipo.ALTERADO, produto.getId(), produto, null, null);
+    }
+
+    public static EventoProdutoDTO estoque(Produto produto, long depositoId, int delta) {
+        return new EventoProdutoDTO(Tipo.ESTOQUE, produto.getId(), produto, delta, depositoId);
+    }
+
+    public static EventoProdutoDTO excluido(Long produtoId) {
+        return new EventoProdutoDTO(Tipo.EXCLUIDO, produtoId, null, null, null);
+    }
+
+    // Junta dois eventos do mesmo produto que o cliente ainda não recebeu num só, com o estado mais novo:
+    // criado + alterado continua "criado"; dois ajustes de estoque viram um com a soma dos deltas
+    // (de depósitos diferentes, a soma vale para o total e o depósito fica null)
+    public EventoProdutoDTO combinar(EventoProdutoDTO novo) {
+        if (tipo == Tipo.CRIADO && novo.tipo != Tipo.EXCLUIDO) {
+            return new EventoProdutoDTO(Tipo.CRIADO, produtoId, novo.produto, null, null);
+        }
+        if (tipo == Tipo.ESTOQUE && novo.tipo == Tipo.ESTOQUE) {
+            Long deposito = Objects.equals(depositoId, novo.depositoId) ? depositoId : null;
+            return new EventoProdutoDTO(Tipo.ESTOQUE, produtoId, novo.produto, delta + novo.delta, deposito);
+        }
+        return novo;
+    }
+}
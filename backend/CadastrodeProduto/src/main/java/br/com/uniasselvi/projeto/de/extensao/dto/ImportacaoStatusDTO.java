@@ -0,0 +1,7 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+
+// Andamento de uma importação de planilha (consultado pelo cliente até a situação virar CONCLUIDA ou FALHOU)
+public record ImportacaoStatusDTO(String id, String arquivo, String situacao,
+                                  long linhasLidas, long importadas, long rejeitadas, String erro) {
+}
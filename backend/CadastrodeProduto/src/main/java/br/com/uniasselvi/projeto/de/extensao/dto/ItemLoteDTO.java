@@ -0,0 +1,6 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+
+// Resultado de um item do lote: posição na lista enviada, id do produto, status HTTP e mensagem de erro (se houver)
+public record ItemLoteDTO(int indice, Long id, int status, String mensagem) {
+}
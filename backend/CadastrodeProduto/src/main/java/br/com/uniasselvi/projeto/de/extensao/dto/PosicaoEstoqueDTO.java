@@ -0,0 +1,7 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+import java.time.Instant;
+
+// Quantidade de um produto num instante, calculada pelo histórico de movimentos
+public record PosicaoEstoqueDTO(Long produtoId, Instant em, int quantidade) {
+}
@@ -0,0 +1,9 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+import java.math.BigDecimal;
+
+// Filtros opcionais da listagem (vêm da query string: ?nome=Mou&categoria=Eletronicos...)
+public record ProdutoFiltroDTO(String nome, String categoria,
+                               BigDecimal precoMin, BigDecimal precoMax,
+                               Integer quantidadeMin, Integer quantidadeMax) {
+}
@@ -0,0 +1,9 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+
+import java.util.List;
+
+// Uma "página" da listagem: os itens e o cursor para buscar a próxima (null = acabou)
+public record ProdutoPaginaDTO(List<Produto> itens, Long nextCursor) {
+}
@@ -0,0 +1,7 @@
+package br.com.uniasselvi.projeto.de.extensao.dto;
+
+import java.util.List;
+
+// Resposta das operações em lote: quantos deram certo, quantos falharam e o resultado de cada item
+public record ResultadoLoteDTO(int sucesso, int falhas, List<ItemLoteDTO> itens) {
+}
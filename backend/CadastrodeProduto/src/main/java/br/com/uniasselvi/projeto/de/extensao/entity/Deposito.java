@@ -0,0 +1,79 @@
+package br.com.uniasselvi.projeto.de.extensao.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.Objects;
+
+// Local onde o estoque fica guardado. Cada um tem a sua partição em estoque_deposito (criada pelo banco, V8).
+@Entity
+public class Deposito {
+
+    // Criado pela migração V8; recebe o estoque dos endpoints que não dizem o depósito
+    public static final long PRINCIPAL = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "O código é obrigatório")
+    @Size(max = 20, message = "O código aceita no máximo 20 caracteres")
+    @Column(nullable = false, length = 20)
+    private String codigo;
+
+    @NotBlank(message = "O nome é obrigatório")
+    @Size(max = 100, message = "O nome aceita no máximo 100 caracteres")
+    @Column(nullable = false, length = 100)
+    private String nome;
+
+    public Deposito() {
+    }
+
+    public Deposito(Long id, String codigo, String nome) {
+        this.id = id;
+        this.codigo = codigo;
+        this.nome = nome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Deposito deposito = (Deposito) o;
+        return Objects.equals(id, deposito.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.uniasselvi.projeto.de.extensao.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+// Quantidade de um produto num depósito. Só é lida pelo JPA: entradas e saídas são UPDATEs nativos
+// (EstoqueDepositoRepository) que somam o delta na própria linha, junto com o total em produto.quantidade.
+@Entity
+@Table(name = "estoque_deposito")
+@IdClass(EstoqueDeposito.Chave.class)
+public class EstoqueDeposito {
+
+    public record Chave(Long depositoId, Long produtoId) implements Serializable {
+    }
+
+    @Id
+    @Column(name = "deposito_id")
+    private Long depositoId;
+
+    @Id
+    @Column(name = "produto_id")
+    private Long produtoId;
+
+    @Column(nullable = false)
+    private int quantidade;
+
+    public EstoqueDeposito() {
+    }
+
+    public EstoqueDeposito(Long depositoId, Long produtoId, int quantidade) {
+        this.depositoId = depositoId;
+        this.produtoId = produtoId;
+        this.quantidade = quantidade;
+    }
+
+    public Long getDepositoId() {
+        return depositoId;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EstoqueDeposito that = (EstoqueDeposito) o;
+        return Objects.equals(depositoId, that.depositoId) && Objects.equals(produtoId, that.produtoId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(depositoId, produtoId);
+    }
+}
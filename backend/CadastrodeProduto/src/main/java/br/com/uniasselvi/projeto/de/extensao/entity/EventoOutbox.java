@@ -0,0 +1,118 @@
+package br.com.uniasselvi.projeto.de.extensao.entity;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.EventoProdutoDTO;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.Objects;
+
+// Evento de produto esperando entrega aos sistemas de fora. As linhas são inseridas só por SQL
+// (EventoOutboxRepository.registrar), junto com a gravação do produto; aqui é só leitura pelo despachante.
+@Entity
+@Table(name = "outbox_produto")
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "produto_id", nullable = false, updatable = false)
+    private Long produtoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 10)
+    private EventoProdutoDTO.Tipo tipo;
+
+    // Quanto entrou ou saiu, nos ajustes de estoque
+    @Column(updatable = false)
+    private Integer delta;
+
+    // Depósito do ajuste de estoque (null nos outros tipos)
+    @Column(name = "deposito_id", updatable = false)
+    private Long depositoId;
+
+    // JSON do produto depois da gravação, com os mesmos campos de GET /produtos (null na exclusão)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(updatable = false)
+    private String payload;
+
+    @Column(name = "criado_em", nullable = false, updatable = false)
+    private Instant criadoEm;
+
+    @Column(name = "disponivel_em", nullable = false)
+    private Instant disponivelEm;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    public EventoOutbox() {
+    }
+
+    public EventoOutbox(Long id, Long produtoId, EventoProdutoDTO.Tipo tipo, Integer delta, String payload, Instant criadoEm) {
+        this.id = id;
+        this.produtoId = produtoId;
+        this.tipo = tipo;
+        this.delta = delta;
+        this.payload = payload;
+        this.criadoEm = criadoEm;
+        this.disponivelEm = criadoEm;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public EventoProdutoDTO.Tipo getTipo() {
+        return tipo;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public Long getDepositoId() {
+        return depositoId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+
+    public Instant getDisponivelEm() {
+        return disponivelEm;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EventoOutbox that = (EventoOutbox) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.uniasselvi.projeto.de.extensao.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.Objects;
+
+// Uma linha do histórico de estoque. Só é inserida, nunca alterada ou apagada.
+@Entity
+@Table(name = "movimento_estoque")
+public class MovimentoEstoque {
+
+    public enum Tipo { ENTRADA, SAIDA, AJUSTE }
+
+    // Mesmo esquema do Produto: ids reservados de 50 em 50 para os INSERTs irem em lote
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movimento_estoque_seq")
+    @SequenceGenerator(name = "movimento_estoque_seq", sequenceName = "movimento_estoque_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "produto_id", nullable = false, updatable = false)
+    private Long produtoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 10)
+    private Tipo tipo;
+
+    // Com sinal: positivo soma ao estoque, negativo subtrai
+    @Column(nullable = false, updatable = false)
+    private int quantidade;
+
+    @Column(name = "criado_em", nullable = false, updatable = false)
+    private Instant criadoEm;
+
+    public MovimentoEstoque() {
+    }
+
+    public MovimentoEstoque(Long produtoId, Tipo tipo, int quantidade) {
+        this.produtoId = produtoId;
+        this.tipo = tipo;
+        this.quantidade = quantidade;
+        this.criadoEm = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MovimentoEstoque that = (MovimentoEstoque) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -1,21 +1,34 @@
 package br.com.uniasselvi.projeto.de.extensao.entity;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.math.BigDecimal;
 import java.util.Objects;
 
 @Entity
+@Cacheable // Leituras por id saem do cache de segundo nível; o Hibernate tira do cache ao alterar/excluir
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "produto")
 public class Produto {
 
+    // Sequence (em vez de IDENTITY) deixa o Hibernate reservar 50 ids de uma vez
+    // e mandar os INSERTs em lote (hibernate.jdbc.batch_size)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+    @SequenceGenerator(name = "produto_seq", sequenceName = "produto_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O nome é obrigatório")
@@ -23,7 +36,9 @@ public class Produto {
 
     @NotNull(message = "O preço é obrigatório")
     @Positive(message = "O preço deve ser maior que zero")
-    private Double preco;
+    @Digits(integer = 10, fraction = 2, message = "O preço aceita no máximo 2 casas decimais")
+    @Column(precision = 12, scale = 2) // Valor exato em reais e centavos (NUMERIC), sem erro de ponto flutuante
+    private BigDecimal preco;
 
     @NotBlank(message = "A categoria é obrigatória")
     private String categoria;
@@ -31,10 +46,15 @@ public class Produto {
     @Min(value = 0, message = "A quantidade não pode ser negativa")
     private int quantidade;
 
+    // Muda a cada alteração. Se o cliente mandar uma versão antiga no PUT, recebe 409 em vez de
+    // apagar a alteração de outra pessoa.
+    @Version
+    private Long versao;
+
     public Produto() {
     }
 
-    public Produto(Long id, String nome, Double preco, String categoria, int quantidade) {
+    public Produto(Long id, String nome, BigDecimal preco, String categoria, int quantidade) {
         this.id = id;
         this.nome = nome;
         this.preco = preco;
@@ -60,11 +80,11 @@ public class Produto {
         this.nome = nome;
     }
 
-    public Double getPreco() {
+    public BigDecimal getPreco() {
         return preco;
     }
 
-    public void setPreco(Double preco) {
+    public void setPreco(BigDecimal preco) {
         this.preco = preco;
     }
 
@@ -84,6 +104,14 @@ public class Produto {
         this.quantidade = quantidade;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,68 @@
+package br.com.uniasselvi.projeto.de.extensao.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.Objects;
+
+// Saldo de um produto somando todos os movimentos até "ate". Gravado só pelo compactador.
+@Entity
+@Table(name = "snapshot_estoque")
+public class SnapshotEstoque {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "produto_id", nullable = false, updatable = false)
+    private Long produtoId;
+
+    @Column(nullable = false, updatable = false)
+    private Instant ate;
+
+    @Column(nullable = false, updatable = false)
+    private int quantidade;
+
+    public SnapshotEstoque() {
+    }
+
+    public SnapshotEstoque(Long produtoId, Instant ate, int quantidade) {
+        this.produtoId = produtoId;
+        this.ate = ate;
+        this.quantidade = quantidade;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public Instant getAte() {
+        return ate;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SnapshotEstoque that = (SnapshotEstoque) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
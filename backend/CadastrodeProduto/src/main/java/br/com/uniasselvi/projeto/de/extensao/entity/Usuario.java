@@ -1,5 +1,6 @@
 package br.com.uniasselvi.projeto.de.extensao.entity;
 
+import br.com.uniasselvi.projeto.de.extensao.security.UsuarioCacheListener;
 import jakarta.persistence.*;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -11,6 +12,7 @@ import java.util.Objects;
 
 @Table(name = "tb_usuarios")
 @Entity(name = "usuarios")
+@EntityListeners(UsuarioCacheListener.class) // Mantém o cache de tokens em dia
 public class Usuario implements UserDetails {
 
     @Id
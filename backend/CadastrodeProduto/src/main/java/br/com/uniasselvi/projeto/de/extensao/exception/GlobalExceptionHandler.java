@@ -1,10 +1,18 @@
 package br.com.uniasselvi.projeto.de.extensao.exception;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.stream.Collectors;
+
 @RestControllerAdvice // 1. Diz ao Spring: "Essa classe captura erros de todos os Controllers"
 public class GlobalExceptionHandler {
 
@@ -18,4 +26,37 @@ public class GlobalExceptionHandler {
         // 4. Devolve o JSON
         return ResponseEntity.status(ex.getStatusCode()).body(erro);
     }
+
+    // Regras da entidade (@NotBlank, @Positive...) violadas na hora de gravar: 400 em vez de 500
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErroResposta> handleConstraintViolationException(ConstraintViolationException ex) {
+        String mensagem = ex.getConstraintViolations().stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+
+        ErroResposta erro = new ErroResposta(mensagem, HttpStatus.BAD_REQUEST.value());
+        return ResponseEntity.badRequest().body(erro);
+    }
+
+    // Restrição do banco violada (ex: nome repetido gravado ao mesmo tempo por dois usuários): 409
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErroResposta> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        ErroResposta erro = new ErroResposta("Os dados conflitam com um registro já existente", HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(erro);
+    }
+
+    // Duas gravações do mesmo produto ao mesmo tempo: a segunda perde (versão mudou) e recebe 409
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErroResposta> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        ErroResposta erro = new ErroResposta("Produto alterado por outro usuário; recarregue e tente de novo", HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(erro);
+    }
+
+    // Nenhuma conexão livre no pool dentro do connection-timeout (ou banco fora do ar): 503 para o cliente tentar de novo
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErroResposta> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        ErroResposta erro = new ErroResposta("Serviço ocupado; tente novamente em instantes", HttpStatus.SERVICE_UNAVAILABLE.value());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(erro);
+    }
 }
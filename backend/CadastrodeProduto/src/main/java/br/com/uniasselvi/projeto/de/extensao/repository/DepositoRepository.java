@@ -0,0 +1,11 @@
+package br.com.uniasselvi.projeto.de.extensao.repository;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.Deposito;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DepositoRepository extends JpaRepository<Deposito, Long> {
+
+    boolean existsByCodigo(String codigo);
+}
@@ -0,0 +1,91 @@
+package br.com.uniasselvi.projeto.de.extensao.repository;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.EstoqueDepositoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.EstoqueDeposito;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+// Todas as gravações rodam dentro da transação que já alterou (e travou) a linha do produto:
+// é ela que ordena os ajustes de um mesmo produto, aqui e no total em produto.quantidade.
+// O "query space" próprio evita que o Hibernate limpe o cache de segundo nível inteiro a cada UPDATE nativo.
+@Repository
+public interface EstoqueDepositoRepository extends JpaRepository<EstoqueDeposito, EstoqueDeposito.Chave> {
+
+    // Estoque inicial de produtos recém-criados (o INSERT do produto sai antes, pelo flush)
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "estoque_deposito"))
+    @Query(value = """
+            INSERT INTO estoque_deposito (deposito_id, produto_id, quantidade)
+            SELECT :deposito, p.id, p.quantidade FROM produto p
+            WHERE p.id IN (:ids) AND p.quantidade > 0
+            """, nativeQuery = true)
+    int inserirIniciais(@Param("deposito") long depositoId, @Param("ids") Collection<Long> produtoIds);
+
+    // Entrada: cria a linha na primeira vez que o produto chega ao depósito
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "estoque_deposito"))
+    @Query(value = """
+            INSERT INTO estoque_deposito (deposito_id, produto_id, quantidade)
+            VALUES (:deposito, :produto, :quantidade)
+            ON CONFLICT (deposito_id, produto_id)
+            DO UPDATE SET quantidade = estoque_deposito.quantidade + EXCLUDED.quantidade
+            """, nativeQuery = true)
+    int entrada(@Param("deposito") long depositoId, @Param("produto") Long produtoId,
+                @Param("quantidade") int quantidade);
+
+    // Saída: nenhuma linha alterada (0) se o depósito não tem o suficiente
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "estoque_deposito"))
+    @Query(value = """
+            UPDATE estoque_deposito SET quantidade = quantidade - :quantidade
+            WHERE deposito_id = :deposito AND produto_id = :produto AND quantidade >= :quantidade
+            """, nativeQuery = true)
+    int saida(@Param("deposito") long depositoId, @Param("produto") Long produtoId,
+              @Param("quantidade") int quantidade);
+
+    // Quanto cada produto do lote tem num depósito (quem não aparece tem zero)
+    @Query("SELECT e FROM EstoqueDeposito e WHERE e.depositoId = :deposito AND e.produtoId IN :ids")
+    List<EstoqueDeposito> buscarNoDeposito(@Param("deposito") long depositoId, @Param("ids") Collection<Long> produtoIds);
+
+    @Query("""
+            SELECT new br.com.uniasselvi.projeto.de.extensao.dto.EstoqueDepositoDTO(
+                d.id, d.codigo, e.produtoId, e.quantidade)
+            FROM EstoqueDeposito e JOIN Deposito d ON d.id = e.depositoId
+            WHERE e.depositoId = :deposito AND e.produtoId = :produto
+            """)
+    Optional<EstoqueDepositoDTO> buscar(@Param("deposito") long depositoId, @Param("produto") Long produtoId);
+
+    // Todos os depósitos de um produto (índice ix_estoque_deposito_produto, uma linha por depósito)
+    @Query("""
+            SELECT new br.com.uniasselvi.projeto.de.extensao.dto.EstoqueDepositoDTO(
+                d.id, d.codigo, e.produtoId, e.quantidade)
+            FROM EstoqueDeposito e JOIN Deposito d ON d.id = e.depositoId
+            WHERE e.produtoId = :produto
+            ORDER BY d.id
+            """)
+    List<EstoqueDepositoDTO> buscarPorProduto(@Param("produto") Long produtoId);
+
+    // Estoque de um depósito em páginas por cursor (id do produto); o filtro pelo depósito
+    // faz o Postgres ler só a partição dele, e dentro dela a chave primária já está na ordem
+    @Query("""
+            SELECT new br.com.uniasselvi.projeto.de.extensao.dto.EstoqueDepositoDTO(
+                d.id, d.codigo, e.produtoId, e.quantidade)
+            FROM EstoqueDeposito e JOIN Deposito d ON d.id = e.depositoId
+            WHERE e.depositoId = :deposito AND e.produtoId > :cursor
+            ORDER BY e.produtoId
+            """)
+    List<EstoqueDepositoDTO> buscarPagina(@Param("deposito") long depositoId, @Param("cursor") Long cursor,
+                                          Limit limite);
+}
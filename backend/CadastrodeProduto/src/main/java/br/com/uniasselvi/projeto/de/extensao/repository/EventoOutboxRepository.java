@@ -0,0 +1,96 @@
+package br.com.uniasselvi.projeto.de.extensao.repository;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.EventoOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    // Um evento por produto, com o produto lido da própria linha que a transação acabou de gravar.
+    // Nos ajustes de estoque vão também o delta e o depósito onde ele aconteceu.
+    // flushAutomatically: o Hibernate manda antes os INSERT/UPDATE pendentes, então a linha já está travada
+    // por esta transação quando o id do evento é gerado. O JSON tem os mesmos campos da entidade Produto.
+    // O query space próprio evita que o Hibernate limpe o cache de produtos a cada evento.
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "outbox_produto"))
+    @Query(value = """
+            INSERT INTO outbox_produto (produto_id, tipo, delta, deposito_id, payload, criado_em, disponivel_em, tentativas)
+            SELECT p.id, CAST(:tipo AS VARCHAR), CAST(:delta AS INTEGER), CAST(:depositoId AS BIGINT),
+                   jsonb_build_object('id', p.id, 'nome', p.nome, 'preco', p.preco, 'categoria', p.categoria,
+                                      'quantidade', p.quantidade, 'versao', p.versao),
+                   now(), now(), 0
+            FROM produto p
+            WHERE p.id IN (:ids)
+            ORDER BY p.id
+            """, nativeQuery = true)
+    int registrar(@Param("tipo") String tipo, @Param("ids") Collection<Long> ids, @Param("delta") Integer delta,
+                  @Param("depositoId") Long depositoId);
+
+    // Exclusão: o produto já não existe, vai só o id (a linha apagada continua travada até o commit)
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "outbox_produto"))
+    @Query(value = """
+            INSERT INTO outbox_produto (produto_id, tipo, criado_em, disponivel_em, tentativas)
+            SELECT e.id, 'EXCLUIDO', now(), now(), 0
+            FROM unnest(ARRAY[:ids]) AS e(id)
+            ORDER BY e.id
+            """, nativeQuery = true)
+    int registrarExclusoes(@Param("ids") Collection<Long> ids);
+
+    // Próximo lote do despachante, em ordem de id. Só entram produtos cujo evento mais antigo está livre:
+    // o primeiro da fila de cada produto é travado (SKIP LOCKED pula o que outra instância já pegou)
+    // e, com ele, os eventos seguintes do mesmo produto. Duas instâncias nunca entregam o mesmo produto
+    // ao mesmo tempo, então a ordem por produto se mantém; produtos diferentes andam em paralelo.
+    @Query(value = """
+            SELECT * FROM outbox_produto
+            WHERE produto_id IN (
+                SELECT h.produto_id FROM outbox_produto h
+                WHERE h.disponivel_em <= now()
+                    AND NOT EXISTS (SELECT 1 FROM outbox_produto a WHERE a.produto_id = h.produto_id AND a.id < h.id)
+                ORDER BY h.id
+                LIMIT :lote
+                FOR UPDATE SKIP LOCKED)
+            ORDER BY id
+            LIMIT :lote
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<EventoOutbox> travarProximos(@Param("lote") int lote);
+
+    // Entrega falhou: os eventos ficam para depois, na mesma ordem
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "outbox_produto"))
+    @Query(value = """
+            UPDATE outbox_produto
+            SET tentativas = tentativas + 1,
+                disponivel_em = now() + make_interval(secs => CAST(:esperaMs AS DOUBLE PRECISION) / 1000)
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int adiar(@Param("ids") Collection<Long> ids, @Param("esperaMs") long esperaMs);
+
+    // Algum evento já pode ser entregue? Os que esperam nova tentativa (disponivel_em no futuro) não contam.
+    // Pelo índice de disponivel_em: para na primeira linha, sem contar a fila
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM outbox_produto WHERE disponivel_em <= now())", nativeQuery = true)
+    boolean existeDisponivel();
+
+    // Quantos eventos esperam entrega (inclusive os adiados) e há quantos milissegundos está lá o mais antigo
+    // (0 se nenhum). O mais antigo vem do primeiro id, pela chave primária; a contagem lê a fila inteira,
+    // por isso só roda no intervalo das métricas
+    @Query(value = """
+            SELECT (SELECT COUNT(*) FROM outbox_produto),
+                   COALESCE((SELECT CAST(EXTRACT(EPOCH FROM now() - criado_em) * 1000 AS BIGINT)
+                             FROM outbox_produto ORDER BY id LIMIT 1), 0)
+            """, nativeQuery = true)
+    List<Object[]> pendencias();
+}
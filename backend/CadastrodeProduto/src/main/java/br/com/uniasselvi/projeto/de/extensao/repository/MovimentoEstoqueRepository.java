@@ -0,0 +1,25 @@
+package br.com.uniasselvi.projeto.de.extensao.repository;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.MovimentoEstoque;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface MovimentoEstoqueRepository extends JpaRepository<MovimentoEstoque, Long> {
+
+    // Últimos movimentos do produto, do mais novo para o mais antigo
+    List<MovimentoEstoque> findByProdutoIdOrderByCriadoEmDescIdDesc(Long produtoId, Limit limite);
+
+    // Soma dos movimentos no intervalo (desde, ate]; usa o índice (produto_id, criado_em)
+    @Query("""
+            SELECT COALESCE(SUM(m.quantidade), 0L) FROM MovimentoEstoque m
+            WHERE m.produtoId = :produtoId AND m.criadoEm > :desde AND m.criadoEm <= :ate
+            """)
+    long somarEntre(@Param("produtoId") Long produtoId, @Param("desde") Instant desde, @Param("ate") Instant ate);
+}
@@ -1,20 +1,145 @@
 package br.com.uniasselvi.projeto.de.extensao.repository;
 
-import br.com.uniasselvi.projeto.de.extensao.dto.DashboardDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.CategoriaResumoDTO;
 import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
     boolean existsByNome(String nome);
 
-    @Query("SELECT new br.com.uniasselvi.projeto.de.extensao.dto.DashboardDTO(p.categoria, COUNT(p)) FROM Produto p GROUP BY p.categoria")
-    List<DashboardDTO> contarProdutosPorCategoria();
+    // Uma consulta só para checar os nomes de um lote inteiro
+    List<Produto> findByNomeIn(Collection<String> nomes);
 
-}
+    // Agregação completa por categoria. Usada só para conferir (reconciliar) os contadores em memória do dashboard.
+    // preco é NUMERIC: a soma do valor em estoque é exata e feita no banco (lendo só o índice de categoria).
+    @Query("""
+            SELECT new br.com.uniasselvi.projeto.de.extensao.dto.CategoriaResumoDTO(
+                p.categoria, COUNT(p), SUM(p.quantidade), SUM(p.preco * p.quantidade),
+                SUM(CASE WHEN p.quantidade < 5 THEN 1L ELSE 0L END))
+            FROM Produto p GROUP BY p.categoria
+            """)
+    List<CategoriaResumoDTO> resumirPorCategoria();
+
+    // Paginação por cursor (keyset): em vez de OFFSET, pedimos "os próximos depois do id X".
+    // Assim o banco pula direto pela chave primária, não importa em qual página estamos.
+    // Filtros nulos são ignorados (o CAST evita que o Postgres receba o nome nulo sem tipo).
+    // O resultado (só os ids) fica no cache de consultas; os produtos vêm do cache da entidade.
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT p FROM Produto p
+            WHERE p.id > :cursor
+              AND (:nome IS NULL OR LOWER(p.nome) LIKE CONCAT(LOWER(CAST(:nome AS String)), '%'))
+              AND (:categoria IS NULL OR p.categoria = :categoria)
+              AND (:precoMin IS NULL OR p.preco >= :precoMin)
+              AND (:precoMax IS NULL OR p.preco <= :precoMax)
+              AND (:quantidadeMin IS NULL OR p.quantidade >= :quantidadeMin)
+              AND (:quantidadeMax IS NULL OR p.quantidade <= :quantidadeMax)
+            ORDER BY p.id
+            """)
+    List<Produto> buscarPagina(@Param("cursor") Long cursor,
+                               @Param("nome") String nome,
+                               @Param("categoria") String categoria,
+                               @Param("precoMin") BigDecimal precoMin,
+                               @Param("precoMax") BigDecimal precoMax,
+                               @Param("quantidadeMin") Integer quantidadeMin,
+                               @Param("quantidadeMax") Integer quantidadeMax,
+                               Limit limite);
+
+    // Lê o catálogo inteiro como Stream: o driver traz as linhas de 500 em 500 (fetch size),
+    // em vez de montar uma List gigante na memória. Precisa rodar dentro de uma transação.
+    // CacheMode IGNORE: a exportação não enche o cache de segundo nível com o catálogo inteiro.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT p FROM Produto p ORDER BY p.id")
+    Stream<Produto> streamTodos();
+
+    // Ajuste atômico de estoque: o banco soma o delta na própria linha, sem ler antes e sem lock explícito,
+    // e devolve a linha como ficou (RETURNING). A linha continua travada até o commit, então o antes
+    // (quantidade - delta) e o depois são exatamente os deste ajuste, mesmo com outros chegando junto.
+    // Se o resultado ficaria negativo (ou o produto não existe), nenhuma linha é alterada e volta vazio.
+    // Não é @Modifying (o RETURNING devolve linhas), então o Hibernate não limpa a região inteira do cache;
+    // CacheMode IGNORE deixa a linha fora do cache antes do commit e quem chama tira do cache só este produto.
+    @QueryHints({
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query(value = """
+            UPDATE produto SET quantidade = quantidade + :delta, versao = versao + 1
+            WHERE id = :id AND quantidade + :delta >= 0
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<Produto> ajustarEstoque(@Param("id") Long id, @Param("delta") int delta);
+
+    // --- SINCRONIZAÇÃO INCREMENTAL (colunas e lápides mantidas pelos gatilhos da V5) ---
 
+    // Menor transação ainda em andamento no snapshot atual: tudo abaixo dela já terminou e está visível.
+    // Quem sincronizou até aqui nunca perde uma gravação que ainda não tinha sido confirmada.
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)", nativeQuery = true)
+    long horizonteSincronizacao();
+
+    // Versão do catálogo para as ETags (VersaoCatalogo): a maior transação que gravou ou excluiu um produto,
+    // lida só dos índices das duas colunas. Uma transação mais antiga que ainda não terminou poderia confirmar
+    // depois sem mudar esse máximo; por isso só vale se a versão já está abaixo do horizonte, senão volta null.
+    @Query(value = """
+            SELECT CASE WHEN v.ultima < CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)
+                        THEN v.ultima END
+            FROM (SELECT GREATEST((SELECT COALESCE(MAX(alterado_na_transacao), 0) FROM produto),
+                                  (SELECT COALESCE(MAX(transacao), 0) FROM produto_excluido)) AS ultima) v
+            """, nativeQuery = true)
+    Long versaoCatalogo();
+
+    // Produtos criados ou alterados depois da posição (transação, id), na ordem dessa chave (índice da V11).
+    // A primeira página de quem pede "desde a versão X" começa em (X, 0).
+    @QueryHints({
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query(value = """
+            SELECT * FROM produto
+            WHERE (alterado_na_transacao, id) > (:transacao, :id)
+            ORDER BY alterado_na_transacao, id
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Produto> buscarAlteradosDepois(@Param("transacao") long transacao, @Param("id") long id,
+                                        @Param("limite") int limite);
+
+    @Query(value = """
+            SELECT produto_id FROM produto_excluido
+            WHERE (transacao, produto_id) > (:transacao, :id)
+            ORDER BY transacao, produto_id
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Long> buscarExcluidosDepois(@Param("transacao") long transacao, @Param("id") long id,
+                                     @Param("limite") int limite);
+
+    // Transação do último item de uma página, para a próxima continuar depois dele
+    // (a entidade não mapeia a coluna, que só os gatilhos preenchem)
+    @Query(value = "SELECT alterado_na_transacao FROM produto WHERE id = :id", nativeQuery = true)
+    long transacaoDaAlteracao(@Param("id") long id);
+
+    @Query(value = "SELECT transacao FROM produto_excluido WHERE produto_id = :id", nativeQuery = true)
+    long transacaoDaExclusao(@Param("id") long id);
+}
@@ -0,0 +1,45 @@
+package br.com.uniasselvi.projeto.de.extensao.repository;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.SnapshotEstoque;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface SnapshotEstoqueRepository extends JpaRepository<SnapshotEstoque, Long> {
+
+    // Snapshot mais recente do produto que não passa do instante pedido
+    Optional<SnapshotEstoque> findFirstByProdutoIdAndAteLessThanEqualOrderByAteDesc(Long produtoId, Instant ate);
+
+    // Até onde foi a última compactação (todos os snapshots de uma rodada têm o mesmo "ate")
+    @Query("SELECT MAX(s.ate) FROM SnapshotEstoque s")
+    Instant ultimoCorte();
+
+    // Uma rodada do compactador num comando só: para cada produto com movimentos em (desde, ate],
+    // novo saldo = último snapshot do produto + movimentos depois dele.
+    // Só lê os movimentos da janela, então o custo não cresce com o tamanho do histórico.
+    // O query space evita que o Hibernate limpe o cache de produtos a cada rodada.
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "snapshot_estoque"))
+    @Query(value = """
+            INSERT INTO snapshot_estoque (produto_id, ate, quantidade)
+            SELECT m.produto_id, :ate, COALESCE(ult.quantidade, 0) + SUM(m.quantidade)
+            FROM movimento_estoque m
+            LEFT JOIN snapshot_estoque ult ON ult.produto_id = m.produto_id
+                AND ult.ate = (SELECT MAX(s.ate) FROM snapshot_estoque s WHERE s.produto_id = m.produto_id)
+            WHERE m.criado_em > :desde AND m.criado_em <= :ate
+                AND (ult.ate IS NULL OR m.criado_em > ult.ate)
+            GROUP BY m.produto_id, ult.quantidade
+            """, nativeQuery = true)
+    int compactar(@Param("desde") Instant desde, @Param("ate") Instant ate);
+}
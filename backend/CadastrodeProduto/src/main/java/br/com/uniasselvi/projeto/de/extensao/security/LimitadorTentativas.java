@@ -0,0 +1,85 @@
+package br.com.uniasselvi.projeto.de.extensao.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+// Limite de tentativas nas rotas /auth/* (token bucket): cada tentativa gasta uma ficha e as fichas
+// voltam aos poucos. Um balde por IP e outro por login, para uma rajada (troca de turno, robô testando
+// senhas) não ocupar o servidor inteiro calculando BCrypt.
+@Component
+public class LimitadorTentativas {
+
+    private final Cache<String, Balde> baldes;
+    private final Regra porIp;
+    private final Regra porLogin;
+    private final LongSupplier relogio;
+
+    @Autowired
+    public LimitadorTentativas(@Value("${auth.limite.ip.capacidade:30}") int capacidadeIp,
+                               @Value("${auth.limite.ip.por-minuto:60}") int porMinutoIp,
+                               @Value("${auth.limite.login.capacidade:5}") int capacidadeLogin,
+                               @Value("${auth.limite.login.por-minuto:10}") int porMinutoLogin) {
+        this(new Regra(capacidadeIp, porMinutoIp), new Regra(capacidadeLogin, porMinutoLogin), System::nanoTime);
+    }
+
+    LimitadorTentativas(Regra porIp, Regra porLogin, LongSupplier relogio) {
+        this.porIp = porIp;
+        this.porLogin = porLogin;
+        this.relogio = relogio;
+        // Baldes parados somem sozinhos; o limite de tamanho segura quem inventa logins aleatórios
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public boolean permitirIp(String ip) {
+        return consumir("ip:" + ip, porIp);
+    }
+
+    public boolean permitirLogin(String login) {
+        return consumir("login:" + login, porLogin);
+    }
+
+    private boolean consumir(String chave, Regra regra) {
+        long agora = relogio.getAsLong();
+        return baldes.get(chave, k -> new Balde(regra, agora)).consumir(agora);
+    }
+
+    record Regra(int capacidade, int porMinuto) {
+
+        double fichasPorNano() {
+            return porMinuto / (double) Duration.ofMinutes(1).toNanos();
+        }
+    }
+
+    private static final class Balde {
+
+        private final Regra regra;
+        private double fichas;
+        private long ultimaReposicao;
+
+        Balde(Regra regra, long agora) {
+            this.regra = regra;
+            this.fichas = regra.capacidade();
+            this.ultimaReposicao = agora;
+        }
+
+        // Trecho curto e sem I/O: o synchronized aqui não prende thread virtual por tempo relevante
+        synchronized boolean consumir(long agora) {
+            fichas = Math.min(regra.capacidade(), fichas + (agora - ultimaReposicao) * regra.fichasPorNano());
+            ultimaReposicao = agora;
+            if (fichas < 1) {
+                return false;
+            }
+            fichas -= 1;
+            return true;
+        }
+    }
+}
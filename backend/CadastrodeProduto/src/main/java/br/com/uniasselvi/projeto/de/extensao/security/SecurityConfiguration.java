@@ -1,7 +1,9 @@
 package br.com.uniasselvi.projeto.de.extensao.security;
 
 import br.com.uniasselvi.projeto.de.extensao.security.SecurityFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -27,6 +29,10 @@ public class SecurityConfiguration {
     @Autowired
     private SecurityFilter securityFilter;
 
+    // Porta do Actuator (management.server.port), que não é publicada para fora (ver Dockerfile)
+    @Value("${management.server.port:-1}")
+    private int portaGerencia;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
         return httpSecurity
@@ -34,11 +40,20 @@ public class SecurityConfiguration {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // Fim de resposta assíncrona (SSE em /produtos/eventos): a requisição já foi autorizada
+                        // na entrada, e no despacho assíncrono não há token para conferir de novo
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Liberamos Login e Registro
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/register").permitAll()
                         // Liberamos o Swagger (opcional)
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        // Liberamos a saúde da aplicação na porta pública (sondas do balanceador)
+                        .requestMatchers(HttpMethod.GET, "/livez", "/readyz").permitAll()
+                        // Métricas e saúde do Actuator só na porta de gerência, onde o Prometheus coleta.
+                        // As métricas contam tokens inválidos e expirados: não ficam na porta pública
+                        .requestMatchers(request -> request.getLocalPort() == portaGerencia
+                                && request.getRequestURI().startsWith("/actuator/")).permitAll()
                         // O resto é trancado
                         .anyRequest().authenticated()
                 )
@@ -54,8 +69,9 @@ public class SecurityConfiguration {
         // O "*" diz: Aceito requisições de qualquer URL (localhost:3000, 5173, 5174...)
         configuration.setAllowedOriginPatterns(List.of("*"));
 
-        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "HEAD"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of("ETag")); // O front pode ler a versão do catálogo
         configuration.setAllowCredentials(true); // Permite credenciais
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
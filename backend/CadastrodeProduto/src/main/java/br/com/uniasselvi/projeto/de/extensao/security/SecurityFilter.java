@@ -1,12 +1,21 @@
 package br.com.uniasselvi.projeto.de.extensao.security;
 
 
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco;
 import br.com.uniasselvi.projeto.de.extensao.repository.UsuarioRepository;
 import br.com.uniasselvi.projeto.de.extensao.service.TokenService;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,56 +24,117 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
+    // Logs só em DEBUG: em produção (INFO) não custam nada. O token em si nunca é logado.
+    private static final Logger log = LoggerFactory.getLogger(SecurityFilter.class);
+
     @Autowired
     TokenService tokenService;
 
     @Autowired
     UsuarioRepository userRepository;
 
+    @Autowired
+    TokenCache tokenCache;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // Contadores criados uma vez só (buscar no registry a cada requisição teria custo)
+    private Counter semToken;
+    private Counter invalido;
+    private Counter expirado;
+    private Counter usuarioInexistente;
+    private Counter sucessoCache;
+    private Counter sucessoBanco;
+    private Timer tempoAutenticacao;
+
+    @PostConstruct
+    void registrarMetricas() {
+        semToken = resultado("sem_token", "nenhuma");
+        invalido = resultado("invalido", "nenhuma");
+        expirado = resultado("expirado", "nenhuma");
+        usuarioInexistente = resultado("usuario_inexistente", "banco");
+        sucessoCache = resultado("sucesso", "cache");
+        sucessoBanco = resultado("sucesso", "banco");
+        tempoAutenticacao = Timer.builder("auth.filtro.duracao")
+                .description("Tempo gasto pelo SecurityFilter para autenticar a requisição")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter resultado(String resultado, String origem) {
+        return Counter.builder("auth.filtro.resultado")
+                .description("Resultado da autenticação por token em cada requisição")
+                .tag("resultado", resultado)
+                .tag("origem", origem) // De onde veio o usuário: cache, banco ou nenhuma
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
-        // LOG 1: Avisa que a requisição bateu no filtro
-        System.out.println("--- [SecurityFilter] Requisição chegando: " + request.getRequestURI());
-
-        var token = this.recoverToken(request);
+        long inicio = System.nanoTime();
+        autenticar(request);
+        tempoAutenticacao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
 
-        if (token != null) {
-            // LOG 2: Avisa que achou um token
-            System.out.println("--- [SecurityFilter] Token encontrado: " + token);
+        filterChain.doFilter(request, response);
+    }
 
-            var login = tokenService.validateToken(token);
+    private void autenticar(HttpServletRequest request) {
+        var token = this.recoverToken(request);
 
-            if (login != null && !login.isEmpty()) {
-                // LOG 3: Avisa que o token é válido e de qual usuário
-                System.out.println("--- [SecurityFilter] Token válido! Usuário: " + login);
+        if (token == null) {
+            // Requisição sem token (Normal para Login/Register, Erro para Produtos)
+            semToken.increment();
+            log.debug("Sem token no header Authorization: {} {}", request.getMethod(), request.getRequestURI());
+            return;
+        }
 
-                UserDetails user = userRepository.findByLogin(login);
+        // Atalho: token já validado antes? Então nem verifica assinatura nem vai ao banco
+        UserDetails user = tokenCache.buscar(token);
 
-                if (user != null) {
-                    // LOG 4: Avisa que achou o usuário no banco
-                    System.out.println("--- [SecurityFilter] Usuário encontrado no banco. Autenticando...");
+        if (user != null) {
+            sucessoCache.increment();
+        } else {
+            try {
+                var decoded = tokenService.verificar(token);
+                var login = decoded.getSubject();
+                // Somente leitura: vai para a réplica, se houver. Como o token é válido, o usuário existia quando
+                // ele foi emitido; se a réplica não o encontrar (cadastro recente), confirma no primário.
+                user = userRepository.findByLogin(login);
+                if (user == null) {
+                    user = RoteamentoBanco.noPrimario(() -> userRepository.findByLogin(login));
+                }
 
-                    var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                } else {
-                    // ERRO A: Token válido, mas usuário sumiu do banco
-                    System.out.println("--- [ERRO] Token válido, mas usuário não encontrado no banco (findByLogin retornou null).");
+                if (user == null) {
+                    // Token válido, mas usuário sumiu do banco
+                    usuarioInexistente.increment();
+                    log.debug("Token válido, mas usuário '{}' não existe no banco", login);
+                    return;
                 }
-            } else {
-                // ERRO B: Token inválido ou expirado
-                System.out.println("--- [ERRO] Token inválido ou expirado na validação.");
+
+                // Guarda até o token vencer
+                tokenCache.guardar(token, user, decoded.getExpiresAtAsInstant());
+                sucessoBanco.increment();
+            } catch (TokenExpiredException e) {
+                expirado.increment();
+                log.debug("Token expirado: {} {}", request.getMethod(), request.getRequestURI());
+                return;
+            } catch (JWTVerificationException e) {
+                invalido.increment();
+                log.debug("Token inválido ({}): {} {}", e.getClass().getSimpleName(), request.getMethod(), request.getRequestURI());
+                return;
             }
-        } else {
-            // AVISO: Requisição sem token (Normal para Login/Register, Erro para Produtos)
-            System.out.println("--- [Aviso] Nenhum token encontrado no Header Authorization.");
         }
 
-        filterChain.doFilter(request, response);
+        log.debug("Usuário '{}' autenticado: {} {}", user.getUsername(), request.getMethod(), request.getRequestURI());
+        var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
     private String recoverToken(HttpServletRequest request) {
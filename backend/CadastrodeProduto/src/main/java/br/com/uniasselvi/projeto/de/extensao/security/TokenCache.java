@@ -0,0 +1,87 @@
+package br.com.uniasselvi.projeto.de.extensao.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+// Guarda os tokens que já foram validados, junto com o usuário dono deles.
+// Assim o SecurityFilter não precisa verificar a assinatura nem ir ao banco em toda requisição.
+@Component
+public class TokenCache {
+
+    private final Cache<String, Entrada> cache;
+    private final Duration tempoMaximo;
+
+    public TokenCache(@Value("${api.security.token-cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                      @Value("${api.security.token-cache.tempo-maximo:10m}") Duration tempoMaximo) {
+        this.tempoMaximo = tempoMaximo;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo) // Limite de memória: os menos usados saem primeiro
+                .expireAfter(new ExpiraJuntoComToken())
+                .build();
+    }
+
+    public UserDetails buscar(String token) {
+        Entrada entrada = cache.getIfPresent(chave(token));
+        return entrada == null ? null : entrada.usuario();
+    }
+
+    public void guardar(String token, UserDetails usuario, Instant expiraEm) {
+        if (expiraEm == null || !expiraEm.isAfter(Instant.now())) return;
+        cache.put(chave(token), new Entrada(usuario, expiraEm));
+    }
+
+    // Chamado quando um usuário é criado, alterado ou removido: seus tokens voltam a ser conferidos no banco
+    public void invalidarUsuario(String login) {
+        cache.asMap().values().removeIf(entrada -> entrada.usuario().getUsername().equals(login));
+    }
+
+    public void limpar() {
+        cache.invalidateAll();
+    }
+
+    // A chave é o hash SHA-256 do token: o token em si nunca fica guardado na memória do cache
+    private static String chave(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private record Entrada(UserDetails usuario, Instant expiraEm) {
+    }
+
+    // Cada entrada vence junto com o token (campo "exp"), mas nunca fica mais que o tempo máximo,
+    // para mudanças feitas direto no banco também chegarem ao filtro
+    private class ExpiraJuntoComToken implements Expiry<String, Entrada> {
+
+        @Override
+        public long expireAfterCreate(String chave, Entrada entrada, long agora) {
+            Duration ateExpirar = Duration.between(Instant.now(), entrada.expiraEm());
+            if (ateExpirar.isNegative()) return 0;
+            return Math.min(ateExpirar.toNanos(), tempoMaximo.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Entrada entrada, long agora, long duracaoAtual) {
+            return expireAfterCreate(chave, entrada, agora);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Entrada entrada, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
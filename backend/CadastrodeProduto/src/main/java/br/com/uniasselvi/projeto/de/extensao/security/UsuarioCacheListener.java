@@ -0,0 +1,25 @@
+package br.com.uniasselvi.projeto.de.extensao.security;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.Usuario;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+// Ouve as gravações da entidade Usuario e tira do cache os tokens do usuário alterado
+@Component
+public class UsuarioCacheListener {
+
+    private final TokenCache tokenCache;
+
+    public UsuarioCacheListener(TokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void usuarioAlterado(Usuario usuario) {
+        tokenCache.invalidarUsuario(usuario.getLogin());
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.EventoProdutoDTO;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Uma conexão SSE. Os eventos esperam num buffer próprio, um por produto: se o cliente está lento,
+// eventos novos do mesmo produto substituem os antigos (o cliente só precisa do estado mais recente).
+// Se passar de "capacidade" produtos diferentes, o buffer é esvaziado e o cliente recebe "resync"
+// (recarregar a lista ou chamar /produtos/changes). Só uma thread por vez envia para cada assinante,
+// e ela anota desde quando está enviando para o vigia do EventosProdutoService achar quem parou de ler.
+class AssinanteEventos {
+
+    private final SseEmitter emitter;
+    private final int capacidade;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, EventoProdutoDTO> pendentes = new LinkedHashMap<>();
+    private boolean heartbeat;
+    private boolean perdeuEventos;
+
+    // Thread que está escrevendo na conexão e desde quando (System.nanoTime); null fora do envio
+    private Thread enviando;
+    private long enviandoDesde;
+    private volatile boolean estourouPrazo;
+
+    // true enquanto existe uma tarefa de envio na fila ou rodando para este assinante
+    private final AtomicBoolean agendado = new AtomicBoolean();
+    private final AtomicLong descartados;
+
+    AssinanteEventos(SseEmitter emitter, int capacidade, AtomicLong descartados) {
+        this.emitter = emitter;
+        this.capacidade = capacidade;
+        this.descartados = descartados;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    // Devolve true se quem chamou precisa agendar o envio
+    boolean enfileirar(EventoProdutoDTO evento) {
+        lock.lock();
+        try {
+            EventoProdutoDTO anterior = pendentes.remove(evento.produtoId());
+            if (anterior != null) {
+                pendentes.put(evento.produtoId(), anterior.combinar(evento));
+            } else {
+                if (pendentes.size() >= capacidade) {
+                    descartados.addAndGet(pendentes.size());
+                    pendentes.clear();
+                    perdeuEventos = true;
+                }
+                pendentes.put(evento.produtoId(), evento);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return agendado.compareAndSet(false, true);
+    }
+
+    boolean enfileirarHeartbeat() {
+        lock.lock();
+        try {
+            heartbeat = true;
+        } finally {
+            lock.unlock();
+        }
+        return agendado.compareAndSet(false, true);
+    }
+
+    // Envia tudo o que estiver pendente. O "agendado" só volta a false com o buffer vazio e o lock na mão,
+    // então um evento que chegar no meio do envio nunca fica esquecido.
+    void drenar() throws IOException {
+        while (true) {
+            List<EventoProdutoDTO> lote;
+            boolean enviarHeartbeat;
+            boolean enviarResync;
+            lock.lock();
+            try {
+                if (pendentes.isEmpty() && !heartbeat && !perdeuEventos) {
+                    agendado.set(false);
+                    return;
+                }
+                lote = new ArrayList<>(pendentes.values());
+                pendentes.clear();
+                enviarHeartbeat = heartbeat;
+                enviarResync = perdeuEventos;
+                heartbeat = false;
+                perdeuEventos = false;
+            } finally {
+                lock.unlock();
+            }
+
+            // Fora do lock: o envio pode demorar (cliente lento) sem travar quem está publicando
+            marcarEnvio(Thread.currentThread());
+            try {
+                if (enviarResync) {
+                    emitter.send(SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+                }
+                for (EventoProdutoDTO evento : lote) {
+                    emitter.send(SseEmitter.event()
+                            .name(evento.tipo().name().toLowerCase(Locale.ROOT))
+                            .data(evento, MediaType.APPLICATION_JSON));
+                }
+                if (enviarHeartbeat && lote.isEmpty() && !enviarResync) {
+                    emitter.send(SseEmitter.event().comment("ping")); // Comentário SSE: o navegador ignora
+                }
+            } finally {
+                marcarEnvio(null);
+            }
+            if (estourouPrazo) {
+                // O vigia já tirou o assinante da lista; quem agendou o envio encerra a conexão
+                throw new InterruptedIOException("Cliente SSE passou do prazo de envio");
+            }
+        }
+    }
+
+    // Chamado pelo vigia: se o lote atual está sendo enviado há mais que o prazo, interrompe a thread
+    // (uma escrita de canal NIO interrompida fecha a conexão) e devolve true para o assinante sair da lista.
+    // Sob o lock, então a interrupção nunca cai numa thread que já foi cuidar de outro assinante.
+    boolean interromperSeTravado(long agora, long prazoNanos) {
+        lock.lock();
+        try {
+            if (enviando == null || agora - enviandoDesde < prazoNanos) {
+                return false;
+            }
+            estourouPrazo = true;
+            enviando.interrupt();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void marcarEnvio(Thread thread) {
+        lock.lock();
+        try {
+            enviando = thread;
+            enviandoDesde = System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.uniasselvi.projeto.de.extensao.service;
 
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco;
 import br.com.uniasselvi.projeto.de.extensao.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,8 +14,9 @@ public class AuthorizationService implements UserDetailsService {
     @Autowired
     UsuarioRepository repository;
 
+    // Login: do primário, para quem acabou de se cadastrar entrar mesmo com a réplica atrasada
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return repository.findByLogin(username);
+        return RoteamentoBanco.noPrimario(() -> repository.findByLogin(username));
     }
 }
@@ -0,0 +1,221 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco;
+import br.com.uniasselvi.projeto.de.extensao.dto.AlteracoesProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Busca de produtos por nome e categoria (GET /produtos/search), sem LIKE '%x%' no banco.
+// O índice (IndiceBusca) é montado ao subir a aplicação e o ProdutoService o mantém em dia a cada gravação.
+// Como o DashboardService, cada instância tem o seu; o que outra instância (ou alguém direto no banco) grava
+// entra pela conferência agendada, que lê as alterações pelas mesmas consultas de GET /produtos/changes.
+@Service
+public class BuscaProdutoService {
+
+    private static final Logger log = LoggerFactory.getLogger(BuscaProdutoService.class);
+
+    static final int LIMITE_MAXIMO = 100;
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SincronizacaoService sincronizacao;
+
+    private final IndiceBusca indice = new IndiceBusca();
+
+    private volatile boolean pronto = false;
+    private volatile boolean lendoDoBanco = false;
+
+    // Até qual versão (horizonte de sincronização) o índice já conferiu o banco; null sem as colunas da V5
+    private volatile Long versao;
+
+    // Produtos gravados enquanto a carga ou a conferência lê o banco: a linha lida pode ser mais velha
+    // que a que já foi indexada, então a leitura pula esses ids (se mudaram de fato, voltam na próxima conferência)
+    private final Set<Long> alteradosDuranteLeitura = ConcurrentHashMap.newKeySet();
+
+    // Marcar + indexar (gravação) e conferir + indexar (leitura do banco) rodam sob o mesmo lock: sem ele a gravação
+    // podia indexar e marcar entre a conferência e a indexação da leitura, que então gravava por cima a linha velha
+    private final ReentrantLock ordem = new ReentrantLock();
+
+    // Carga inicial e conferência não rodam juntas (as duas usam a mesma lista de alterados)
+    private final ReentrantLock conferindo = new ReentrantLock();
+
+    // --- ATUALIZAÇÕES (chamadas pelo ProdutoService depois do commit) ---
+
+    public void indexar(Produto produto) {
+        ordem.lock();
+        try {
+            marcar(produto.getId());
+            indice.indexar(produto.getId(), produto.getNome(), produto.getCategoria());
+        } finally {
+            ordem.unlock();
+        }
+    }
+
+    public void indexarTodos(Collection<Produto> produtos) {
+        produtos.forEach(this::indexar);
+    }
+
+    public void remover(Long id) {
+        ordem.lock();
+        try {
+            marcar(id);
+            indice.remover(id);
+        } finally {
+            ordem.unlock();
+        }
+    }
+
+    // --- BUSCA ---
+
+    public List<Produto> buscar(String consulta, int limite) {
+        if (!pronto) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Índice de busca ainda carregando");
+        }
+        List<Long> ids = indice.buscar(consulta, Math.max(1, Math.min(limite, LIMITE_MAXIMO)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Os produtos em si vêm do cache de segundo nível (ou de um SELECT ... WHERE id IN)
+        Map<Long, Produto> porId = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+
+    // --- CARGA INICIAL ---
+
+    // Depois de a aplicação subir, para não atrasar o início; até terminar, a busca responde 503
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        conferindo.lock();
+        iniciarLeitura();
+        long inicio = System.currentTimeMillis();
+        try {
+            // Antes da leitura: o que confirmar depois fica acima do horizonte e vem na primeira conferência
+            Long horizonte = lerHorizonte();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Produto> produtos = repository.streamTodos()) {
+                    produtos.forEach(produto -> {
+                        aplicar(produto.getId(), produto);
+                        entityManager.detach(produto); // Não acumula o catálogo no contexto de persistência
+                    });
+                }
+            });
+            versao = horizonte;
+            pronto = true;
+            log.info("Índice de busca carregado: {} produtos em {} ms", indice.tamanho(),
+                    System.currentTimeMillis() - inicio);
+        } finally {
+            terminarLeitura();
+            conferindo.unlock();
+        }
+    }
+
+    // --- CONFERÊNCIA COM O BANCO ---
+
+    // Produtos criados, alterados ou excluídos desde a última versão conferida, página por página.
+    // Se uma página falhar, a versão não avança e a próxima rodada lê tudo de novo.
+    @Scheduled(fixedDelayString = "${busca.reconciliacao-ms:30000}")
+    public void conferir() {
+        conferindo.lock();
+        try {
+            if (!pronto || versao == null) {
+                return;
+            }
+            iniciarLeitura();
+            try {
+                long desde = versao;
+                String cursor = null;
+                AlteracoesProdutoDTO pagina;
+                do {
+                    String continuacao = cursor;
+                    // Do primário: a réplica pode ainda não ter o que esta instância já indexou
+                    pagina = RoteamentoBanco.noPrimario(() -> sincronizacao.alteracoesDesde(desde, continuacao,
+                            SincronizacaoService.LIMITE_MAXIMO));
+                    pagina.alterados().forEach(produto -> aplicar(produto.getId(), produto));
+                    pagina.excluidos().forEach(id -> aplicar(id, null));
+                    cursor = pagina.cursor();
+                } while (cursor != null);
+                versao = pagina.versao();
+            } finally {
+                terminarLeitura();
+            }
+        } finally {
+            conferindo.unlock();
+        }
+    }
+
+    // Sem as funções e colunas do Postgres (ex: H2 dos benchmarks) não há o que conferir:
+    // o índice acompanha só as gravações desta instância
+    private Long lerHorizonte() {
+        try {
+            return RoteamentoBanco.noPrimario(repository::horizonteSincronizacao);
+        } catch (DataAccessException e) {
+            log.warn("Busca sem conferência com o banco (horizonte de sincronização indisponível): {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Produto lido do banco (null = excluído), a não ser que uma gravação desta instância já tenha passado na frente
+    private void aplicar(Long id, Produto produto) {
+        ordem.lock();
+        try {
+            if (alteradosDuranteLeitura.contains(id)) {
+                return;
+            }
+            if (produto == null) {
+                indice.remover(id);
+            } else {
+                indice.indexar(id, produto.getNome(), produto.getCategoria());
+            }
+        } finally {
+            ordem.unlock();
+        }
+    }
+
+    private void iniciarLeitura() {
+        alteradosDuranteLeitura.clear();
+        lendoDoBanco = true;
+    }
+
+    private void terminarLeitura() {
+        lendoDoBanco = false;
+        alteradosDuranteLeitura.clear();
+    }
+
+    private void marcar(Long id) {
+        if (lendoDoBanco) {
+            alteradosDuranteLeitura.add(id);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.CategoriaResumoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.DashboardResumoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+
+// Leituras do catálogo sem prender thread enquanto espera o banco (R2DBC). Escritas continuam no ProdutoService (JPA).
+// As colunas vêm da própria entidade Produto (tabela "produto", um campo por coluna), a mesma que o Hibernate usa:
+// um campo novo na entidade aparece nos dois caminhos. Não passa pelo cache de segundo nível: lê sempre do banco.
+@Service
+@ConditionalOnProperty(name = "catalogo.reativo.enabled", havingValue = "true")
+public class CatalogoReativoService {
+
+    // A mesma agregação de ProdutoRepository.resumirPorCategoria, com as categorias nulas já juntas no banco
+    private static final String RESUMO_POR_CATEGORIA = """
+            SELECT COALESCE(categoria, :semCategoria) AS categoria, COUNT(*) AS produtos,
+                   SUM(quantidade) AS unidades, SUM(preco * quantidade) AS valor,
+                   SUM(CASE WHEN quantidade < :limiteBaixo THEN 1 ELSE 0 END) AS estoque_baixo
+            FROM produto
+            GROUP BY 1
+            ORDER BY 1
+            """;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    // Catálogo em ordem de id, a partir do cursor. O Flux só puxa do banco o que o cliente já consumiu.
+    public Flux<Produto> listar(Long cursor, String categoria, Integer limite) {
+        Criteria criterio = where("id").greaterThan(cursor == null ? 0L : cursor);
+        if (categoria != null && !categoria.isBlank()) {
+            criterio = criterio.and("categoria").is(categoria);
+        }
+        Query consulta = Query.query(criterio).sort(Sort.by("id"));
+        if (limite != null) {
+            if (limite < 1) {
+                return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "O limite deve ser maior que zero"));
+            }
+            consulta = consulta.limit(limite);
+        }
+        return template.select(Produto.class).matching(consulta).all();
+    }
+
+    public Mono<Produto> buscar(Long id) {
+        return template.selectOne(Query.query(where("id").is(id)), Produto.class)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado")));
+    }
+
+    // GROUP BY no banco (index-only scan em ix_produto_categoria_resumo); os totais somados como no DashboardService
+    public Mono<DashboardResumoDTO> resumo() {
+        return template.getDatabaseClient().sql(RESUMO_POR_CATEGORIA)
+                .bind("semCategoria", DashboardService.SEM_CATEGORIA)
+                .bind("limiteBaixo", DashboardService.LIMITE_ESTOQUE_BAIXO)
+                .map(linha -> new CategoriaResumoDTO(
+                        linha.get("categoria", String.class),
+                        linha.get("produtos", Long.class),
+                        linha.get("unidades", Long.class),
+                        linha.get("valor", BigDecimal.class),
+                        linha.get("estoque_baixo", Long.class)))
+                .all()
+                .collectList()
+                .map(DashboardService::totalizar);
+    }
+}
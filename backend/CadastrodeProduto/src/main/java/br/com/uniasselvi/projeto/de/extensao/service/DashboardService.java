@@ -0,0 +1,171 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco;
+import br.com.uniasselvi.projeto.de.extensao.dto.CategoriaResumoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.DashboardDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.DashboardResumoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service // Mantém os números do dashboard em memória, sem fazer GROUP BY a cada acesso
+public class DashboardService {
+
+    // Regra do front: menos de 5 unidades é "estoque baixo"
+    static final int LIMITE_ESTOQUE_BAIXO = 5;
+
+    static final String SEM_CATEGORIA = "Sem categoria";
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    // Um contador por categoria. Ler o dashboard custa O(categorias), não O(produtos).
+    // O valor em estoque fica em centavos num long: soma exata e sem criar BigDecimal a cada escrita.
+    private final Map<String, Contador> contadores = new ConcurrentHashMap<>();
+
+    private volatile boolean carregado = false;
+
+    // Lock em vez de synchronized: a conferência faz JDBC, e um bloco synchronized prenderia
+    // a thread de plataforma por baixo de uma thread virtual (Java 21) durante toda a consulta
+    private final ReentrantLock conferindo = new ReentrantLock();
+
+    // --- ATUALIZAÇÕES (chamadas pelo ProdutoService depois de gravar no banco) ---
+
+    public void registrarCriacao(Produto produto) {
+        aplicar(produto, 1);
+    }
+
+    public void registrarAtualizacao(Produto antes, Produto depois) {
+        aplicar(antes, -1);
+        aplicar(depois, 1);
+    }
+
+    public void registrarExclusao(Produto produto) {
+        aplicar(produto, -1);
+    }
+
+    // --- LEITURAS ---
+
+    public List<DashboardDTO> contarPorCategoria() {
+        return categorias().stream()
+                .map(c -> new DashboardDTO(c.categoria(), c.produtos()))
+                .toList();
+    }
+
+    public DashboardResumoDTO resumo() {
+        return totalizar(categorias());
+    }
+
+    // Totais gerais a partir das categorias (também usado pela leitura reativa, que agrega no banco)
+    static DashboardResumoDTO totalizar(List<CategoriaResumoDTO> categorias) {
+        long produtos = 0, unidades = 0, centavos = 0, estoqueBaixo = 0;
+        for (CategoriaResumoDTO c : categorias) {
+            produtos += c.produtos();
+            unidades += c.unidades();
+            centavos = Math.addExact(centavos, centavos(c.valorEstoque()));
+            estoqueBaixo += c.estoqueBaixo();
+        }
+        return new DashboardResumoDTO(produtos, unidades, BigDecimal.valueOf(centavos, 2), estoqueBaixo, categorias);
+    }
+
+    // --- RECONCILIAÇÃO ---
+
+    // De tempos em tempos conferimos com o banco, corrigindo qualquer diferença
+    // (ex: alteração feita direto no banco ou escrita concorrente durante a última conferência).
+    @Scheduled(fixedDelayString = "${estoque.dashboard.reconciliacao-ms:300000}")
+    public void reconciliar() {
+        conferindo.lock();
+        try {
+            carregarDoBanco();
+        } finally {
+            conferindo.unlock();
+        }
+    }
+
+    private void carregarDoBanco() {
+        Map<String, Contador> doBanco = new ConcurrentHashMap<>();
+        // Do primário: os contadores em memória já contam tudo o que foi gravado, a réplica pode não ter tudo ainda
+        for (CategoriaResumoDTO c : RoteamentoBanco.noPrimario(repository::resumirPorCategoria)) {
+            doBanco.merge(chave(c.categoria()), new Contador(c.produtos(), c.unidades(),
+                    centavos(c.valorEstoque()), c.estoqueBaixo()), Contador::somar);
+        }
+
+        // Se a conferência corrigiu algum número, a ETag do dashboard precisa mudar também
+        boolean mudou = !doBanco.equals(contadores);
+        contadores.keySet().retainAll(doBanco.keySet());
+        contadores.putAll(doBanco);
+        carregado = true;
+        if (mudou) {
+            versaoCatalogo.registrarCorrecaoDashboard();
+        }
+    }
+
+    private List<CategoriaResumoDTO> categorias() {
+        if (!carregado) {
+            // Primeira leitura antes do agendamento rodar: quem chegar junto espera a mesma carga
+            conferindo.lock();
+            try {
+                if (!carregado) {
+                    carregarDoBanco();
+                }
+            } finally {
+                conferindo.unlock();
+            }
+        }
+        return contadores.entrySet().stream()
+                .map(e -> e.getValue().resumo(e.getKey()))
+                .sorted(Comparator.comparing(CategoriaResumoDTO::categoria))
+                .toList();
+    }
+
+    private void aplicar(Produto produto, int sinal) {
+        String categoria = chave(produto.getCategoria());
+        int quantidade = produto.getQuantidade();
+
+        Contador delta = new Contador(
+                sinal,
+                (long) sinal * quantidade,
+                sinal * Math.multiplyExact(centavos(produto.getPreco()), (long) quantidade),
+                quantidade < LIMITE_ESTOQUE_BAIXO ? sinal : 0L);
+
+        // compute é atômico por chave: duas escritas na mesma categoria não se atropelam
+        contadores.compute(categoria, (k, atual) -> {
+            Contador novo = atual == null ? delta : atual.somar(delta);
+            return novo.produtos() <= 0 ? null : novo; // Categoria sem produtos some do dashboard
+        });
+    }
+
+    // R$ 12,34 -> 1234. Os preços têm no máximo 2 casas (NUMERIC(12,2)), então a conversão é exata;
+    // o *Exact estoura com erro em vez de dar um total errado (só passando de ~92 trilhões de reais)
+    static long centavos(BigDecimal valor) {
+        return valor == null ? 0L : valor.movePointRight(2).longValueExact();
+    }
+
+    private static String chave(String categoria) {
+        return categoria == null ? SEM_CATEGORIA : categoria;
+    }
+
+    private record Contador(long produtos, long unidades, long centavos, long estoqueBaixo) {
+
+        Contador somar(Contador outro) {
+            return new Contador(produtos + outro.produtos, unidades + outro.unidades,
+                    Math.addExact(centavos, outro.centavos), estoqueBaixo + outro.estoqueBaixo);
+        }
+
+        CategoriaResumoDTO resumo(String categoria) {
+            return new CategoriaResumoDTO(categoria, produtos, unidades, BigDecimal.valueOf(centavos, 2), estoqueBaixo);
+        }
+    }
+}
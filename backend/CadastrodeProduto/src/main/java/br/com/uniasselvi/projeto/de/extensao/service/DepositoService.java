@@ -0,0 +1,94 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco;
+import br.com.uniasselvi.projeto.de.extensao.dto.EstoqueDepositoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.EstoqueDepositoPaginaDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.EstoqueProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Deposito;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.repository.DepositoRepository;
+import br.com.uniasselvi.projeto.de.extensao.repository.EstoqueDepositoRepository;
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+// Depósitos e o estoque de cada um. Entradas e saídas ficam no ProdutoService.ajustarEstoque,
+// que também mantém o total do produto (produto.quantidade) na mesma transação.
+@Service
+public class DepositoService {
+
+    static final int LIMITE_MAXIMO = 500;
+
+    @Autowired
+    private DepositoRepository depositoRepository;
+
+    @Autowired
+    private EstoqueDepositoRepository estoqueRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Transactional(readOnly = true)
+    public List<Deposito> listar() {
+        return depositoRepository.findAll(Sort.by("id"));
+    }
+
+    // A partição do depósito em estoque_deposito é criada pelo gatilho da V8, no mesmo INSERT
+    public Deposito criar(Deposito deposito) {
+        if (RoteamentoBanco.noPrimario(() -> depositoRepository.existsByCodigo(deposito.getCodigo()))) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Depósito já cadastrado");
+        }
+        deposito.setId(null); // Id é sempre gerado pelo banco
+        try {
+            return depositoRepository.save(deposito);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Depósito já cadastrado");
+        }
+    }
+
+    // Páginas por cursor (id do produto), como GET /produtos/pagina
+    @Transactional(readOnly = true)
+    public EstoqueDepositoPaginaDTO listarEstoque(long depositoId, Long cursor, int limite) {
+        buscarDeposito(depositoId);
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        List<EstoqueDepositoDTO> itens = estoqueRepository.buscarPagina(depositoId,
+                cursor == null ? 0L : cursor, Limit.of(tamanho + 1));
+        if (itens.size() <= tamanho) {
+            return new EstoqueDepositoPaginaDTO(itens, null);
+        }
+        List<EstoqueDepositoDTO> pagina = itens.subList(0, tamanho);
+        return new EstoqueDepositoPaginaDTO(pagina, pagina.get(tamanho - 1).produtoId());
+    }
+
+    // Produto que nunca passou pelo depósito aparece com zero
+    @Transactional(readOnly = true)
+    public EstoqueDepositoDTO estoque(long depositoId, Long produtoId) {
+        Deposito deposito = buscarDeposito(depositoId);
+        if (!produtoRepository.existsById(produtoId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado");
+        }
+        return estoqueRepository.buscar(depositoId, produtoId)
+                .orElseGet(() -> new EstoqueDepositoDTO(depositoId, deposito.getCodigo(), produtoId, 0));
+    }
+
+    // O total vem do próprio produto, sem somar os depósitos
+    @Transactional(readOnly = true)
+    public EstoqueProdutoDTO estoqueDoProduto(Long produtoId) {
+        Produto produto = produtoRepository.findById(produtoId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado"));
+        return new EstoqueProdutoDTO(produtoId, produto.getQuantidade(), estoqueRepository.buscarPorProduto(produtoId));
+    }
+
+    private Deposito buscarDeposito(long depositoId) {
+        return depositoRepository.findById(depositoId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Depósito não encontrado"));
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.EventoOutbox;
+
+import java.util.List;
+
+// Para onde o OutboxService entrega os eventos de produto. Cada integração (ERP, busca, BI) é um bean
+// que implementa esta interface; todos recebem todos os eventos.
+// A entrega é "pelo menos uma vez": se qualquer destino falhar, o lote inteiro é entregue de novo
+// mais tarde, inclusive aos que já tinham recebido. Quem recebe deve ignorar o que já viu (pelo id do evento).
+public interface DestinoOutbox {
+
+    // Nome no log quando a entrega falha
+    String nome();
+
+    // Em ordem de id: eventos de um mesmo produto chegam na ordem em que foram gravados.
+    // Só retorna quando os eventos estão guardados do outro lado; depois disso eles são apagados do banco.
+    void entregar(List<EventoOutbox> eventos) throws Exception;
+}
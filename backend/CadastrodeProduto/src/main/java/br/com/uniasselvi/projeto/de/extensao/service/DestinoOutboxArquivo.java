@@ -0,0 +1,84 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.EventoOutbox;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+// Acrescenta os eventos num arquivo NDJSON (um evento por linha), que outro processo lê e repassa.
+// Cada lote vai para o disco (force) antes de os eventos serem apagados do banco.
+// Ligado com outbox.arquivo=caminho (OUTBOX_ARQUIVO).
+@Component
+@ConditionalOnExpression("!'${outbox.arquivo:}'.isBlank()")
+public class DestinoOutboxArquivo implements DestinoOutbox {
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel arquivo;
+
+    public DestinoOutboxArquivo(ObjectMapper objectMapper, @Value("${outbox.arquivo}") Path caminho) throws IOException {
+        this.objectMapper = objectMapper;
+        if (caminho.getParent() != null) {
+            Files.createDirectories(caminho.getParent());
+        }
+        this.arquivo = FileChannel.open(caminho, CREATE, WRITE, APPEND);
+    }
+
+    @Override
+    public String nome() {
+        return "arquivo";
+    }
+
+    @Override
+    public synchronized void entregar(List<EventoOutbox> eventos) throws IOException {
+        ByteArrayOutputStream linhas = new ByteArrayOutputStream();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(linhas)) {
+            json.setRootValueSeparator(null); // Sem o espaço que o Jackson põe entre objetos; a quebra de linha vai abaixo
+            for (EventoOutbox evento : eventos) {
+                json.writeStartObject();
+                json.writeNumberField("id", evento.getId());
+                json.writeStringField("tipo", evento.getTipo().name());
+                json.writeNumberField("produtoId", evento.getProdutoId());
+                if (evento.getDelta() != null) {
+                    json.writeNumberField("delta", evento.getDelta());
+                }
+                if (evento.getDepositoId() != null) {
+                    json.writeNumberField("depositoId", evento.getDepositoId());
+                }
+                json.writeStringField("criadoEm", evento.getCriadoEm().toString());
+                json.writeFieldName("produto");
+                if (evento.getPayload() == null) {
+                    json.writeNull();
+                } else {
+                    json.writeRawValue(evento.getPayload()); // Já é JSON (coluna jsonb)
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(linhas.toByteArray());
+        while (buffer.hasRemaining()) {
+            arquivo.write(buffer);
+        }
+        arquivo.force(false);
+    }
+
+    @PreDestroy
+    public void fechar() throws IOException {
+        arquivo.close();
+    }
+}
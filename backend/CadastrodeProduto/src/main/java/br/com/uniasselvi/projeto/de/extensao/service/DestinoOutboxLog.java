@@ -0,0 +1,30 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.EventoOutbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Destino padrão enquanto não há integração configurada: só registra no log (logger "outbox")
+@Component
+@ConditionalOnExpression("'${outbox.arquivo:}'.isBlank()")
+public class DestinoOutboxLog implements DestinoOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger("outbox");
+
+    @Override
+    public String nome() {
+        return "log";
+    }
+
+    @Override
+    public void entregar(List<EventoOutbox> eventos) {
+        for (EventoOutbox evento : eventos) {
+            log.info("#{} {} produto {}{}: {}", evento.getId(), evento.getTipo(), evento.getProdutoId(),
+                    evento.getDelta() == null ? "" : " (" + evento.getDelta() + ")", evento.getPayload());
+        }
+    }
+}
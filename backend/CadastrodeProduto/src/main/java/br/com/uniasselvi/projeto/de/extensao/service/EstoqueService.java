@@ -0,0 +1,103 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.PosicaoEstoqueDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.MovimentoEstoque;
+import br.com.uniasselvi.projeto.de.extensao.entity.SnapshotEstoque;
+import br.com.uniasselvi.projeto.de.extensao.repository.MovimentoEstoqueRepository;
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import br.com.uniasselvi.projeto.de.extensao.repository.SnapshotEstoqueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+// Histórico de estoque: cada mudança de quantidade vira um movimento (só INSERT).
+// O compactador junta os movimentos em snapshots de tempos em tempos, assim a quantidade em
+// qualquer data sai de um snapshot + poucos movimentos, sem reprocessar o histórico inteiro.
+@Service
+public class EstoqueService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstoqueService.class);
+
+    static final int LIMITE_HISTORICO = 500;
+
+    @Autowired
+    private MovimentoEstoqueRepository movimentoRepository;
+
+    @Autowired
+    private SnapshotEstoqueRepository snapshotRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    // Movimentos mais novos que isso ainda podem estar em transações abertas, então esperam a próxima rodada
+    @Value("${estoque.movimentos.margem:5m}")
+    private Duration margem = Duration.ofMinutes(5);
+
+    // Deve ser chamado dentro da transação que alterou o produto, para os dois irem juntos para o banco
+    public void registrar(Long produtoId, MovimentoEstoque.Tipo tipo, int quantidade) {
+        if (quantidade != 0) {
+            movimentoRepository.save(new MovimentoEstoque(produtoId, tipo, quantidade));
+        }
+    }
+
+    // Versão para lotes: os INSERTs saem agrupados (hibernate.jdbc.batch_size)
+    public void registrarTodos(Collection<MovimentoEstoque> movimentos) {
+        List<MovimentoEstoque> validos = movimentos.stream().filter(m -> m.getQuantidade() != 0).toList();
+        if (!validos.isEmpty()) {
+            movimentoRepository.saveAll(validos);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public PosicaoEstoqueDTO posicao(Long produtoId, Instant em) {
+        if (!produtoRepository.existsById(produtoId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado");
+        }
+        Instant instante = em == null ? Instant.now() : em;
+        return new PosicaoEstoqueDTO(produtoId, instante, quantidadeEm(produtoId, instante));
+    }
+
+    // Snapshot mais próximo antes do instante + movimentos entre ele e o instante
+    int quantidadeEm(Long produtoId, Instant em) {
+        SnapshotEstoque snapshot = snapshotRepository
+                .findFirstByProdutoIdAndAteLessThanEqualOrderByAteDesc(produtoId, em)
+                .orElse(null);
+        Instant desde = snapshot == null ? Instant.EPOCH : snapshot.getAte();
+        int base = snapshot == null ? 0 : snapshot.getQuantidade();
+        return base + (int) movimentoRepository.somarEntre(produtoId, desde, em);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MovimentoEstoque> historico(Long produtoId, int limite) {
+        if (!produtoRepository.existsById(produtoId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado");
+        }
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_HISTORICO));
+        return movimentoRepository.findByProdutoIdOrderByCriadoEmDescIdDesc(produtoId, Limit.of(tamanho));
+    }
+
+    @Scheduled(fixedDelayString = "${estoque.movimentos.compactacao-ms:60000}")
+    @Transactional
+    public int compactar() {
+        Instant desde = snapshotRepository.ultimoCorte();
+        Instant ate = Instant.now().minus(margem);
+        if (desde != null && !ate.isAfter(desde)) {
+            return 0;
+        }
+        int produtos = snapshotRepository.compactar(desde == null ? Instant.EPOCH : desde, ate);
+        log.debug("Compactação do estoque até {}: {} produtos", ate, produtos);
+        return produtos;
+    }
+}
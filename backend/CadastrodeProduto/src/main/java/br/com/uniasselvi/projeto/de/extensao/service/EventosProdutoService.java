@@ -0,0 +1,168 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.EventoProdutoDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Empurra criações, alterações, exclusões e ajustes de estoque para quem está em GET /produtos/eventos (SSE).
+// A conexão fica aberta no modo assíncrono do servlet, sem thread presa: milhares de clientes parados custam
+// só memória. Quem escreve é um pool pequeno, e cada assinante tem seu buffer (veja AssinanteEventos),
+// então um cliente lento nunca atrasa o ProdutoService.
+// A escrita na conexão bloqueia: um cliente que parou de ler (janela TCP cheia) prende uma thread do pool.
+// O vigia (vigiarEnvios) tira da lista quem passa de eventos.sse.prazo-envio num lote e interrompe a escrita;
+// se o Tomcat não desistir com a interrupção, a thread volta no timeout de escrita do conector
+// (server.tomcat.connection-timeout). Os outros clientes só esperam se mais clientes que threads
+// travarem ao mesmo tempo, e no máximo até esse timeout.
+@Service
+public class EventosProdutoService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventosProdutoService.class);
+
+    private static final long RECONEXAO_MS = 5000;
+
+    private final Set<AssinanteEventos> assinantes = ConcurrentHashMap.newKeySet();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong travados = new AtomicLong();
+    private final ExecutorService envio;
+    private final int capacidade;
+    private final long timeoutMs;
+    private final long prazoEnvioNanos;
+
+    public EventosProdutoService(@Value("${eventos.sse.threads:16}") int threads,
+                                 @Value("${eventos.sse.buffer:256}") int capacidade,
+                                 @Value("${eventos.sse.timeout:30m}") Duration timeout,
+                                 @Value("${eventos.sse.prazo-envio:5s}") Duration prazoEnvio,
+                                 MeterRegistry meterRegistry) {
+        this.capacidade = capacidade;
+        this.timeoutMs = timeout.toMillis();
+        this.prazoEnvioNanos = prazoEnvio.toNanos();
+        this.envio = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("sse-envio-"));
+        new ExecutorServiceMetrics(envio, "eventos.sse", List.of()).bindTo(meterRegistry);
+        Gauge.builder("eventos.sse.assinantes", assinantes, Set::size).register(meterRegistry);
+        // Eventos jogados fora porque o buffer de algum cliente lento encheu
+        Gauge.builder("eventos.sse.descartados", descartados, AtomicLong::get).register(meterRegistry);
+        // Clientes derrubados por passar do prazo de envio
+        Gauge.builder("eventos.sse.travados", travados, AtomicLong::get).register(meterRegistry);
+    }
+
+    // Passado o timeout o navegador (EventSource) reconecta sozinho; assim conexões esquecidas não ficam para sempre
+    public SseEmitter assinar() {
+        return assinar(new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter assinar(SseEmitter emitter) {
+        try {
+            // Sem um primeiro envio o cabeçalho da resposta só sai no primeiro evento e o cliente fica esperando.
+            // O "retry" diz ao EventSource quanto esperar antes de reconectar.
+            emitter.send(SseEmitter.event().comment("conectado").reconnectTime(RECONEXAO_MS));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        AssinanteEventos assinante = new AssinanteEventos(emitter, capacidade, descartados);
+        assinantes.add(assinante);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(() -> {
+            assinantes.remove(assinante);
+            emitter.complete(); // Fim normal da conexão, sem AsyncRequestTimeoutException no log
+        });
+        emitter.onError(e -> assinantes.remove(assinante));
+        return emitter;
+    }
+
+    // Chamado pelo ProdutoService depois do commit
+    public void publicar(EventoProdutoDTO evento) {
+        for (AssinanteEventos assinante : assinantes) {
+            if (assinante.enfileirar(evento)) {
+                agendar(assinante);
+            }
+        }
+    }
+
+    public void publicarTodos(Collection<EventoProdutoDTO> eventos) {
+        if (!assinantes.isEmpty()) {
+            eventos.forEach(this::publicar);
+        }
+    }
+
+    // Proxies e balanceadores derrubam conexões paradas; o comentário periódico mantém a conexão viva
+    // e revela clientes que sumiram (o envio falha e o assinante sai da lista)
+    @Scheduled(fixedDelayString = "${eventos.sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (AssinanteEventos assinante : assinantes) {
+            if (assinante.enfileirarHeartbeat()) {
+                agendar(assinante);
+            }
+        }
+    }
+
+    // Quem está no mesmo lote há mais que o prazo parou de ler: sai da lista (não recebe mais envios)
+    // e tem a escrita interrompida; a conexão é encerrada pela tarefa de envio quando ela voltar
+    @Scheduled(fixedDelayString = "${eventos.sse.verificacao-ms:1000}")
+    public void vigiarEnvios() {
+        long agora = System.nanoTime();
+        for (AssinanteEventos assinante : assinantes) {
+            if (assinante.interromperSeTravado(agora, prazoEnvioNanos)) {
+                assinantes.remove(assinante);
+                travados.incrementAndGet();
+                log.debug("Assinante SSE removido: passou do prazo de envio");
+            }
+        }
+    }
+
+    int getAssinantes() {
+        return assinantes.size();
+    }
+
+    private void agendar(AssinanteEventos assinante) {
+        try {
+            envio.execute(() -> {
+                try {
+                    assinante.drenar();
+                } catch (IOException | IllegalStateException e) {
+                    // Cliente desconectou (ou o emitter já tinha terminado)
+                    log.debug("Assinante SSE removido: {}", e.getMessage());
+                    assinantes.remove(assinante);
+                    assinante.getEmitter().completeWithError(e);
+                } finally {
+                    Thread.interrupted(); // Uma interrupção do vigia que chegou tarde não vale para a próxima tarefa
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            assinantes.remove(assinante); // Aplicação desligando
+        }
+    }
+
+    @PreDestroy
+    void parar() {
+        for (AssinanteEventos assinante : assinantes) {
+            try {
+                assinante.getEmitter().complete();
+            } catch (IllegalStateException e) {
+                // O Tomcat pode já ter fechado a conexão ao parar
+            }
+        }
+        assinantes.clear();
+        envio.shutdownNow();
+    }
+}
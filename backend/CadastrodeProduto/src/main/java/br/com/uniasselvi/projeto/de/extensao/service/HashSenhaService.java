@@ -0,0 +1,49 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// BCrypt é caro de propósito (dezenas de ms de CPU por senha). Login e cadastro rodam aqui, num pool
+// com uma thread por núcleo e fila curta: uma rajada de logins não rouba as threads que atendem produtos,
+// e quando a fila enche o cliente recebe 429 na hora em vez de esperar.
+@Service
+public class HashSenhaService {
+
+    private final ThreadPoolExecutor executor;
+
+    public HashSenhaService(@Value("${auth.hash.fila:64}") int fila, MeterRegistry meterRegistry) {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(nucleos, nucleos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), new CustomizableThreadFactory("hash-senha-"));
+        // Threads ocupadas, tamanho da fila e tarefas recusadas em /actuator/prometheus (executor_*{name="auth.hash"})
+        new ExecutorServiceMetrics(executor, "auth.hash", List.of()).bindTo(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> executar(Supplier<T> tarefa) {
+        try {
+            return CompletableFuture.supplyAsync(tarefa, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Muitos logins ao mesmo tempo; tente novamente em instantes");
+        }
+    }
+
+    @PreDestroy
+    void parar() {
+        executor.shutdownNow();
+    }
+}
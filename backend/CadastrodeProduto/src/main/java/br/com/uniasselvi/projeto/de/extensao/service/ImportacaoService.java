@@ -0,0 +1,284 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.ImportacaoStatusDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ItemLoteDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ResultadoLoteDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service // Importação de planilhas de fornecedores (centenas de milhares de linhas)
+public class ImportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoService.class);
+
+    // Cada bloco vira uma transação separada: se a importação cair no meio, o que já foi gravado fica
+    static final int TAMANHO_BLOCO = 1000;
+
+    static final List<String> COLUNAS_OBRIGATORIAS = List.of("nome", "preco", "categoria", "quantidade");
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Value("${estoque.importacao.diretorio:${java.io.tmpdir}/estoque-importacoes}")
+    private Path diretorio;
+
+    @Value("${estoque.importacao.retencao:24h}")
+    private Duration retencao;
+
+    private final Map<String, Importacao> importacoes = new ConcurrentHashMap<>();
+
+    // Poucas importações ao mesmo tempo, com fila curta: o resto recebe 503 na hora
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(10), new CustomizableThreadFactory("importacao-"));
+
+    public ImportacaoStatusDTO iniciar(MultipartFile arquivo) throws IOException {
+        String nome = arquivo.getOriginalFilename() == null ? "" : arquivo.getOriginalFilename().toLowerCase(Locale.ROOT);
+        if (nome.endsWith(".xlsx") || nome.endsWith(".xls")) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                    "Planilhas do Excel não são aceitas: salve como CSV (UTF-8) e envie novamente");
+        }
+        if (arquivo.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Arquivo vazio");
+        }
+
+        // O upload vai direto para um arquivo temporário (copiado em partes, nunca inteiro na memória)
+        String id = UUID.randomUUID().toString();
+        Files.createDirectories(diretorio);
+        Importacao importacao = new Importacao(id, arquivo.getOriginalFilename(),
+                diretorio.resolve(id + ".csv"), diretorio.resolve(id + "-rejeitados.csv"));
+        arquivo.transferTo(importacao.entrada);
+
+        importacoes.put(id, importacao);
+        try {
+            executor.execute(() -> processar(importacao));
+        } catch (RejectedExecutionException e) {
+            importacoes.remove(id);
+            Files.deleteIfExists(importacao.entrada);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Muitas importações em andamento, tente novamente em alguns minutos");
+        }
+        return importacao.status();
+    }
+
+    public ImportacaoStatusDTO status(String id) {
+        return buscar(id).status();
+    }
+
+    // Arquivo CSV com as linhas recusadas e o motivo de cada uma
+    public Path relatorioRejeitados(String id) {
+        Importacao importacao = buscar(id);
+        if (!Files.exists(importacao.relatorio)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Relatório ainda não disponível");
+        }
+        return importacao.relatorio;
+    }
+
+    void processar(Importacao importacao) {
+        importacao.situacao = Situacao.PROCESSANDO;
+
+        try (Reader reader = Files.newBufferedReader(importacao.entrada, StandardCharsets.UTF_8);
+             BufferedWriter rejeitados = Files.newBufferedWriter(importacao.relatorio, StandardCharsets.UTF_8)) {
+
+            rejeitados.write("linha,motivo\n");
+            LeitorCsv csv = new LeitorCsv(reader);
+            Map<String, Integer> colunas = lerCabecalho(csv.proximoRegistro());
+
+            List<Produto> bloco = new ArrayList<>(TAMANHO_BLOCO);
+            List<Long> linhasDoBloco = new ArrayList<>(TAMANHO_BLOCO);
+            List<String> registro;
+
+            while ((registro = csv.proximoRegistro()) != null) {
+                if (registro.size() == 1 && registro.get(0).isBlank()) continue; // Linha em branco
+
+                importacao.linhasLidas.incrementAndGet();
+                try {
+                    bloco.add(converter(registro, colunas));
+                    linhasDoBloco.add(csv.getLinha());
+                } catch (IllegalArgumentException e) {
+                    rejeitar(rejeitados, importacao, csv.getLinha(), e.getMessage());
+                }
+
+                if (bloco.size() == TAMANHO_BLOCO) {
+                    gravarBloco(importacao, bloco, linhasDoBloco, rejeitados);
+                }
+            }
+            gravarBloco(importacao, bloco, linhasDoBloco, rejeitados);
+
+            importacao.situacao = Situacao.CONCLUIDA;
+            log.info("Importação {} concluída: {} importadas, {} rejeitadas",
+                    importacao.id, importacao.importadas.get(), importacao.rejeitadas.get());
+        } catch (Exception e) {
+            importacao.erro = e.getMessage();
+            importacao.situacao = Situacao.FALHOU;
+            log.warn("Importação {} falhou depois de {} linhas", importacao.id, importacao.linhasLidas.get(), e);
+        } finally {
+            importacao.terminadaEm = Instant.now();
+            try {
+                Files.deleteIfExists(importacao.entrada);
+            } catch (IOException e) {
+                log.warn("Não foi possível apagar {}", importacao.entrada, e);
+            }
+        }
+    }
+
+    // Reaproveita o lote do ProdutoService: valida em paralelo, checa nomes com uma consulta e grava numa transação
+    private void gravarBloco(Importacao importacao, List<Produto> bloco, List<Long> linhas, Writer rejeitados) throws IOException {
+        if (bloco.isEmpty()) return;
+
+        ResultadoLoteDTO resultado = produtoService.criarLote(List.copyOf(bloco));
+        for (ItemLoteDTO item : resultado.itens()) {
+            if (item.status() >= 300) {
+                rejeitar(rejeitados, importacao, linhas.get(item.indice()), item.mensagem());
+            }
+        }
+        importacao.importadas.addAndGet(resultado.sucesso());
+        rejeitados.flush();
+
+        bloco.clear();
+        linhas.clear();
+    }
+
+    private void rejeitar(Writer rejeitados, Importacao importacao, long linha, String motivo) throws IOException {
+        rejeitados.write(linha + "," + ProdutoExportService.campoCsv(motivo) + "\n");
+        importacao.rejeitadas.incrementAndGet();
+    }
+
+    private Map<String, Integer> lerCabecalho(List<String> cabecalho) {
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Arquivo vazio");
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.put(cabecalho.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> faltando = COLUNAS_OBRIGATORIAS.stream().filter(c -> !colunas.containsKey(c)).toList();
+        if (!faltando.isEmpty()) {
+            throw new IllegalArgumentException("Cabeçalho sem as colunas: " + String.join(", ", faltando));
+        }
+        return colunas;
+    }
+
+    static Produto converter(List<String> registro, Map<String, Integer> colunas) {
+        Produto produto = new Produto();
+        produto.setNome(campo(registro, colunas, "nome"));
+        produto.setCategoria(campo(registro, colunas, "categoria"));
+        produto.setPreco(converterPreco(campo(registro, colunas, "preco")));
+
+        String quantidade = campo(registro, colunas, "quantidade");
+        try {
+            produto.setQuantidade(quantidade == null ? 0 : Integer.parseInt(quantidade));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Quantidade inválida: " + quantidade);
+        }
+        return produto;
+    }
+
+    // Aceita "1234.56" e o formato brasileiro "1.234,56"
+    static BigDecimal converterPreco(String valor) {
+        if (valor == null) return null;
+        String normalizado = valor.replace("R$", "").trim();
+        if (normalizado.contains(",")) {
+            normalizado = normalizado.replace(".", "").replace(",", ".");
+        }
+        try {
+            return new BigDecimal(normalizado); // Mais de 2 casas decimais é recusado na validação do lote
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Preço inválido: " + valor);
+        }
+    }
+
+    private static String campo(List<String> registro, Map<String, Integer> colunas, String coluna) {
+        int indice = colunas.get(coluna);
+        if (indice >= registro.size()) return null;
+        String valor = registro.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private Importacao buscar(String id) {
+        Importacao importacao = importacoes.get(id);
+        if (importacao == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Importação não encontrada");
+        }
+        return importacao;
+    }
+
+    // Esquece importações antigas e apaga os relatórios delas
+    @Scheduled(fixedDelayString = "${estoque.importacao.limpeza-ms:3600000}")
+    public void limparAntigas() {
+        Instant limite = Instant.now().minus(retencao);
+        importacoes.values().removeIf(importacao -> {
+            if (importacao.terminadaEm == null || importacao.terminadaEm.isAfter(limite)) return false;
+            try {
+                Files.deleteIfExists(importacao.relatorio);
+            } catch (IOException e) {
+                log.warn("Não foi possível apagar {}", importacao.relatorio, e);
+            }
+            return true;
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    enum Situacao { AGUARDANDO, PROCESSANDO, CONCLUIDA, FALHOU }
+
+    static class Importacao {
+        final String id;
+        final String arquivo;
+        final Path entrada;
+        final Path relatorio;
+        final AtomicLong linhasLidas = new AtomicLong();
+        final AtomicLong importadas = new AtomicLong();
+        final AtomicLong rejeitadas = new AtomicLong();
+        volatile Situacao situacao = Situacao.AGUARDANDO;
+        volatile String erro;
+        volatile Instant terminadaEm;
+
+        Importacao(String id, String arquivo, Path entrada, Path relatorio) {
+            this.id = id;
+            this.arquivo = arquivo;
+            this.entrada = entrada;
+            this.relatorio = relatorio;
+        }
+
+        ImportacaoStatusDTO status() {
+            return new ImportacaoStatusDTO(id, arquivo, situacao.name(),
+                    linhasLidas.get(), importadas.get(), rejeitadas.get(), erro);
+        }
+    }
+}
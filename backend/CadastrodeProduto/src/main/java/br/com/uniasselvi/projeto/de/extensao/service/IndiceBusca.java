@@ -0,0 +1,339 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Índice invertido em memória sobre nome e categoria. Cada palavra (sem acento e em minúsculas) aponta
+// para os ids que a contêm; as palavras ficam ordenadas (TreeMap), então "teclado" e "tec" viram uma
+// faixa contígua do dicionário, sem varrer o catálogo.
+// A busca parte do termo que casa com menos produtos e cruza os ids dele com as listas de cada um dos outros
+// termos (listas ordenadas, busca exponencial), então só sobram produtos que têm todos os termos.
+// Leituras em paralelo; gravações com lock exclusivo.
+public class IndiceBusca {
+
+    // Teto de trabalho por busca, para ficar abaixo de 1 ms mesmo com 1 milhão de produtos (BuscaBenchmark).
+    // Vale depois da interseção: todo resultado tem todos os termos, mas quando uma busca genérica ("tec")
+    // sobra com mais produtos que isso, só os LIMITE_CANDIDATOS de menor id são pontuados e ordenados
+    // e o usuário refina a busca
+    static final int LIMITE_CANDIDATOS = 2_000;
+
+    // Pesos da relevância, por termo da busca. O bônus de estar no início do nome só desempata:
+    // nunca faz um começo de palavra passar na frente de uma palavra inteira
+    private static final int PALAVRA_INTEIRA_NO_NOME = 6;
+    private static final int PREFIXO_NO_NOME = 4;
+    private static final int NA_CATEGORIA = 2;
+    private static final int BONUS_INICIO_DO_NOME = 1;
+
+    // Mais pontos primeiro; no empate, nome mais curto e depois o id
+    private static final Comparator<long[]> ORDEM = Comparator.<long[]>comparingLong(p -> -p[1])
+            .thenComparingLong(p -> p[2])
+            .thenComparingLong(p -> p[0]);
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postagem> palavrasNome = new TreeMap<>();
+    private final NavigableMap<String, Postagem> palavrasCategoria = new TreeMap<>();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+
+    // "Pão de Açúcar" -> [pao, de, acucar]
+    static String[] palavras(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return new String[0];
+        }
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(SEPARADORES.split(semAcento.toLowerCase(Locale.ROOT)))
+                .filter(palavra -> !palavra.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    // Inclui ou atualiza: só mexe nas palavras que mudaram (em geral só o nome; a categoria quase nunca)
+    public void indexar(long id, String nome, String categoria) {
+        Documento novo = new Documento(palavras(nome), palavras(categoria), nome == null ? 0 : nome.length());
+        lock.writeLock().lock();
+        try {
+            Documento antigo = documentos.put(id, novo);
+            String[] nomeAntigo = antigo == null ? new String[0] : antigo.nome();
+            String[] categoriaAntiga = antigo == null ? new String[0] : antigo.categoria();
+            trocar(palavrasNome, id, nomeAntigo, novo.nome());
+            trocar(palavrasCategoria, id, categoriaAntiga, novo.categoria());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            Documento antigo = documentos.remove(id);
+            if (antigo != null) {
+                trocar(palavrasNome, id, antigo.nome(), new String[0]);
+                trocar(palavrasCategoria, id, antigo.categoria(), new String[0]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            palavrasNome.clear();
+            palavrasCategoria.clear();
+            documentos.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids dos produtos que têm todos os termos (palavra inteira ou começo de palavra), do mais relevante
+    // para o menos: palavra inteira no nome > começo de palavra no nome > categoria; empate = nome mais curto
+    public List<Long> buscar(String consulta, int limite) {
+        String[] termos = palavras(consulta);
+        if (termos.length == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Cada termo casa com uma ou mais listas (palavras do nome e da categoria que começam com ele)
+            List<List<Postagem>> listas = new ArrayList<>(termos.length);
+            for (String termo : termos) {
+                List<Postagem> doTermo = new ArrayList<>(faixa(palavrasNome, termo));
+                doTermo.addAll(faixa(palavrasCategoria, termo));
+                if (doTermo.isEmpty()) {
+                    return List.of();
+                }
+                listas.add(doTermo);
+            }
+            listas.sort(Comparator.comparingLong(IndiceBusca::contar));
+
+            // Com um termo só não há o que cruzar, então basta juntar os LIMITE_CANDIDATOS menores ids
+            long[] candidatos = unir(listas.get(0), listas.size() == 1 ? LIMITE_CANDIDATOS : Integer.MAX_VALUE);
+            int tamanho = candidatos.length;
+            for (int t = 1; t < listas.size() && tamanho > 0; t++) {
+                tamanho = cruzar(candidatos, tamanho, listas.get(t));
+            }
+
+            // Os "limite" melhores ficam num heap com o pior no topo, sem ordenar todos os candidatos
+            PriorityQueue<long[]> melhores = new PriorityQueue<>(limite + 1, ORDEM.reversed()); // {id, pontos, tamanho do nome}
+            for (int i = 0; i < Math.min(tamanho, LIMITE_CANDIDATOS); i++) {
+                Documento documento = documentos.get(candidatos[i]);
+                int pontos = documento.pontuar(termos);
+                if (pontos > 0) {
+                    melhores.add(new long[]{candidatos[i], pontos, documento.tamanhoNome()});
+                    if (melhores.size() > limite) {
+                        melhores.poll();
+                    }
+                }
+            }
+            List<long[]> ordenados = new ArrayList<>(melhores);
+            ordenados.sort(ORDEM);
+            return ordenados.stream().map(p -> p[0]).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Collection<Postagem> faixa(NavigableMap<String, Postagem> dicionario, String prefixo) {
+        return dicionario.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false).values();
+    }
+
+    // Quantos ids as listas do termo somam (um produto pode contar duas vezes, no nome e na categoria)
+    private static long contar(List<Postagem> postagens) {
+        long total = 0;
+        for (Postagem postagem : postagens) {
+            total += postagem.tamanho;
+        }
+        return total;
+    }
+
+    // Os "teto" menores ids do termo guia, em ordem e sem repetição. Cada lista já é ordenada, então
+    // dela só entram os "teto" primeiros
+    private static long[] unir(List<Postagem> postagens, int teto) {
+        if (postagens.size() == 1) {
+            Postagem unica = postagens.get(0);
+            return Arrays.copyOf(unica.ids, Math.min(unica.tamanho, teto));
+        }
+        long total = 0;
+        for (Postagem postagem : postagens) {
+            total += Math.min(postagem.tamanho, teto);
+        }
+        long[] ids = new long[Math.toIntExact(total)];
+        int fim = 0;
+        for (Postagem postagem : postagens) {
+            int quantos = Math.min(postagem.tamanho, teto);
+            System.arraycopy(postagem.ids, 0, ids, fim, quantos);
+            fim += quantos;
+        }
+        Arrays.sort(ids);
+        int distintos = 0;
+        for (long id : ids) {
+            if (distintos == 0 || id != ids[distintos - 1]) {
+                ids[distintos++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, Math.min(distintos, teto));
+    }
+
+    // Deixa no começo do array, em ordem, só os candidatos que estão em alguma das listas; devolve quantos ficaram
+    private static int cruzar(long[] candidatos, int tamanho, List<Postagem> postagens) {
+        boolean[] achados = new boolean[tamanho];
+        for (Postagem postagem : postagens) {
+            marcar(candidatos, tamanho, postagem.ids, postagem.tamanho, achados);
+        }
+        int ficaram = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if (achados[i]) {
+                candidatos[ficaram++] = candidatos[i];
+            }
+        }
+        return ficaram;
+    }
+
+    // Percorre a lista menor e procura cada id na maior a partir da última posição, com saltos que dobram
+    // (busca exponencial): para listas de tamanhos m < n o custo fica em m * log(n / m)
+    private static void marcar(long[] candidatos, int tamanho, long[] ids, int quantidade, boolean[] achados) {
+        int posicao = 0;
+        if (tamanho <= quantidade) {
+            for (int i = 0; i < tamanho && posicao < quantidade; i++) {
+                posicao = galopar(ids, posicao, quantidade, candidatos[i]);
+                if (posicao < quantidade && ids[posicao] == candidatos[i]) {
+                    achados[i] = true;
+                }
+            }
+        } else {
+            for (int i = 0; i < quantidade && posicao < tamanho; i++) {
+                posicao = galopar(candidatos, posicao, tamanho, ids[i]);
+                if (posicao < tamanho && candidatos[posicao] == ids[i]) {
+                    achados[posicao] = true;
+                }
+            }
+        }
+    }
+
+    // Primeira posição a partir de "inicio" com valor >= alvo ("fim" se não houver)
+    private static int galopar(long[] ids, int inicio, int fim, long alvo) {
+        int salto = 1;
+        int limite = inicio;
+        while (limite < fim && ids[limite] < alvo) {
+            inicio = limite + 1;
+            limite = inicio + salto;
+            salto <<= 1;
+        }
+        int posicao = Arrays.binarySearch(ids, inicio, Math.min(limite, fim), alvo);
+        return posicao >= 0 ? posicao : -posicao - 1;
+    }
+
+    private static void trocar(Map<String, Postagem> dicionario, long id, String[] antigas, String[] novas) {
+        for (String palavra : antigas) {
+            if (!contem(novas, palavra)) {
+                Postagem postagem = dicionario.get(palavra);
+                if (postagem != null && postagem.remover(id) && postagem.tamanho == 0) {
+                    dicionario.remove(palavra);
+                }
+            }
+        }
+        for (String palavra : novas) {
+            if (!contem(antigas, palavra)) {
+                dicionario.computeIfAbsent(palavra, p -> new Postagem()).adicionar(id);
+            }
+        }
+    }
+
+    private static boolean contem(String[] palavras, String palavra) {
+        for (String p : palavras) {
+            if (p.equals(palavra)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Documento(String[] nome, String[] categoria, int tamanhoNome) {
+
+        // 0 = falta algum termo
+        int pontuar(String[] termos) {
+            int total = 0;
+            for (String termo : termos) {
+                int melhor = 0;
+                for (int i = 0; i < nome.length; i++) {
+                    int pontos = nome[i].equals(termo) ? PALAVRA_INTEIRA_NO_NOME
+                            : nome[i].startsWith(termo) ? PREFIXO_NO_NOME : 0;
+                    if (pontos > 0 && i == 0) {
+                        pontos += BONUS_INICIO_DO_NOME;
+                    }
+                    melhor = Math.max(melhor, pontos);
+                }
+                if (melhor == 0) {
+                    for (String palavra : categoria) {
+                        if (palavra.startsWith(termo)) {
+                            melhor = NA_CATEGORIA;
+                            break;
+                        }
+                    }
+                }
+                if (melhor == 0) {
+                    return 0;
+                }
+                total += melhor;
+            }
+            return total;
+        }
+    }
+
+    // Ids em ordem crescente num long[] (8 bytes por id, sem um objeto Long para cada).
+    // Os ids vêm de uma sequência, então cadastrar quase sempre só acrescenta no fim.
+    private static final class Postagem {
+
+        private long[] ids = new long[2];
+        private int tamanho;
+
+        void adicionar(long id) {
+            int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao >= 0) {
+                return;
+            }
+            posicao = -posicao - 1;
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+            ids[posicao] = id;
+            tamanho++;
+        }
+
+        boolean remover(long id) {
+            int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao < 0) {
+                return false;
+            }
+            System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+            tamanho--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Lê um CSV registro por registro, sem carregar o arquivo inteiro.
+// Segue o RFC 4180: campos entre aspas podem ter separador, aspas ("") e quebra de linha.
+class LeitorCsv {
+
+    private final Reader reader;
+    private char separador;
+    private boolean separadorDefinido;
+    private long linhasLidas = 0;
+    private long inicioRegistro = 0;
+    private int proximo = -2; // caractere lido a mais (-2 = nenhum)
+
+    // Sem separador informado: descobre pelo cabeçalho (Excel em português costuma salvar com ';')
+    LeitorCsv(Reader reader) {
+        this.reader = reader;
+    }
+
+    LeitorCsv(Reader reader, char separador) {
+        this.reader = reader;
+        this.separador = separador;
+        this.separadorDefinido = true;
+    }
+
+    // Número da linha do arquivo onde começou o último registro lido (1 = cabeçalho)
+    long getLinha() {
+        return inicioRegistro;
+    }
+
+    // Próximo registro, ou null no fim do arquivo
+    List<String> proximoRegistro() throws IOException {
+        int c = ler();
+        if (c == '\uFEFF' && linhasLidas == 0) c = ler(); // BOM que o Excel coloca no início
+        if (c == -1) return null;
+
+        inicioRegistro = ++linhasLidas;
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+
+        while (c != -1) {
+            char ch = (char) c;
+
+            if (entreAspas) {
+                if (ch == '"') {
+                    int seguinte = ler();
+                    if (seguinte == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        devolver(seguinte);
+                    }
+                } else {
+                    if (ch == '\n') linhasLidas++;
+                    campo.append(ch);
+                }
+            } else if (ch == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r') {
+                    int seguinte = ler();
+                    if (seguinte != '\n') devolver(seguinte);
+                }
+                break;
+            } else if (separadorDefinido && ch == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (!separadorDefinido && (ch == ',' || ch == ';')) {
+                // Primeiro separador fora de aspas no cabeçalho decide o formato do arquivo
+                separador = ch;
+                separadorDefinido = true;
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(ch);
+            }
+            c = ler();
+        }
+
+        campos.add(campo.toString());
+        if (!separadorDefinido) {
+            // Cabeçalho com uma coluna só: fica o padrão ','
+            separador = ',';
+            separadorDefinido = true;
+        }
+        return campos;
+    }
+
+    private int ler() throws IOException {
+        if (proximo != -2) {
+            int c = proximo;
+            proximo = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void devolver(int c) {
+        proximo = c;
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco;
+import br.com.uniasselvi.projeto.de.extensao.dto.EventoProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.EventoOutbox;
+import br.com.uniasselvi.projeto.de.extensao.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Eventos de produto para os sistemas de fora (ERP, busca, BI), pelo padrão "outbox":
+// o evento é gravado na tabela outbox_produto dentro da transação que alterou o produto (registrar*),
+// então ou vão os dois para o banco ou nenhum. Quem entrega é o despachante abaixo, fora da requisição:
+// a gravação não espera nenhum sistema de fora. Diferente do SSE (EventosProdutoService), que é só
+// em memória e perde o que acontecer com a aplicação fora do ar, aqui nada se perde e a entrega é
+// "pelo menos uma vez", na ordem por produto.
+@Service
+public class OutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxService.class);
+
+    // Espera depois de uma falha: dobra a cada tentativa até o máximo
+    static final long ESPERA_INICIAL_MS = 1000;
+    static final long ESPERA_MAXIMA_MS = 300_000;
+
+    private final EventoOutboxRepository repository;
+    private final List<DestinoOutbox> destinos;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock relogio;
+    private final int lote;
+
+    private final AtomicLong pendentes = new AtomicLong();
+    private final AtomicLong atrasoMs = new AtomicLong();
+    private final Timer atrasoEntrega;
+    private final Counter entregues;
+    private final Counter falhas;
+
+    @Autowired
+    public OutboxService(EventoOutboxRepository repository, List<DestinoOutbox> destinos,
+                         TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                         @Value("${outbox.lote:200}") int lote) {
+        this(repository, destinos, transactionTemplate, meterRegistry, lote, Clock.systemUTC());
+    }
+
+    OutboxService(EventoOutboxRepository repository, List<DestinoOutbox> destinos,
+                  TransactionTemplate transactionTemplate, MeterRegistry meterRegistry, int lote, Clock relogio) {
+        this.repository = repository;
+        this.destinos = destinos;
+        this.transactionTemplate = transactionTemplate;
+        this.lote = lote;
+        this.relogio = relogio;
+
+        Gauge.builder("outbox.pendentes", pendentes, AtomicLong::get)
+                .description("Eventos esperando entrega, inclusive os adiados (na última conferência)")
+                .register(meterRegistry);
+        Gauge.builder("outbox.atraso", atrasoMs, AtomicLong::get)
+                .description("Idade do evento mais antigo ainda não entregue")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        atrasoEntrega = Timer.builder("outbox.entrega.atraso")
+                .description("Tempo entre a gravação do produto e a entrega do evento")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        entregues = Counter.builder("outbox.entregas").tag("resultado", "sucesso").register(meterRegistry);
+        falhas = Counter.builder("outbox.entregas").tag("resultado", "falha").register(meterRegistry);
+    }
+
+    // --- GRAVAÇÃO (dentro da transação do ProdutoService, depois de gravar os produtos) ---
+
+    public void registrar(EventoProdutoDTO.Tipo tipo, Collection<Long> produtoIds) {
+        if (!produtoIds.isEmpty()) {
+            repository.registrar(tipo.name(), produtoIds, null, null);
+        }
+    }
+
+    public void registrarEstoque(Long produtoId, long depositoId, int delta) {
+        repository.registrar(EventoProdutoDTO.Tipo.ESTOQUE.name(), List.of(produtoId), delta, depositoId);
+    }
+
+    public void registrarExclusoes(Collection<Long> produtoIds) {
+        if (!produtoIds.isEmpty()) {
+            repository.registrarExclusoes(produtoIds);
+        }
+    }
+
+    // --- DESPACHANTE ---
+
+    // Roda em todas as instâncias: o SKIP LOCKED divide os produtos entre elas.
+    // Enquanto os lotes vêm cheios, continua na mesma rodada para esvaziar a fila.
+    // Sem evento pronto para entregar (fila vazia ou só eventos esperando nova tentativa) não abre transação
+    // de escrita, que travaria linhas no primário e contaria como gravação para a réplica (ver MonitorReplica).
+    @Scheduled(fixedDelayString = "${outbox.intervalo-ms:500}")
+    public void despachar() {
+        // Do primário: na réplica um evento recém-gravado pode ainda não ter chegado
+        if (!RoteamentoBanco.noPrimario(repository::existeDisponivel)) {
+            return;
+        }
+        int quantidade;
+        do {
+            quantidade = despacharLote();
+        } while (quantidade == lote);
+    }
+
+    // Um lote numa transação: trava, entrega a todos os destinos e apaga.
+    // A trava dura a entrega, então outra instância nunca entrega os mesmos produtos ao mesmo tempo.
+    // Devolve quantos eventos foram entregues (0 se não havia nada ou se algum destino falhou).
+    int despacharLote() {
+        Integer resultado = transactionTemplate.execute(status -> {
+            List<EventoOutbox> eventos = repository.travarProximos(lote);
+            if (eventos.isEmpty()) {
+                return 0;
+            }
+            List<Long> ids = eventos.stream().map(EventoOutbox::getId).toList();
+            for (DestinoOutbox destino : destinos) {
+                try {
+                    destino.entregar(eventos);
+                } catch (Exception e) {
+                    long espera = espera(eventos);
+                    log.warn("Falha ao entregar {} eventos em '{}' (nova tentativa em {} ms): {}",
+                            eventos.size(), destino.nome(), espera, e.getMessage());
+                    repository.adiar(ids, espera);
+                    falhas.increment(eventos.size());
+                    return 0;
+                }
+            }
+            repository.deleteAllByIdInBatch(ids);
+
+            long agora = relogio.millis();
+            for (EventoOutbox evento : eventos) {
+                atrasoEntrega.record(Duration.ofMillis(Math.max(0, agora - evento.getCriadoEm().toEpochMilli())));
+            }
+            entregues.increment(eventos.size());
+            return eventos.size();
+        });
+        return resultado == null ? 0 : resultado;
+    }
+
+    // Pela maior quantidade de tentativas do lote: 1s, 2s, 4s... até 5 min
+    static long espera(List<EventoOutbox> eventos) {
+        int tentativas = eventos.stream().mapToInt(EventoOutbox::getTentativas).max().orElse(0);
+        return Math.min(ESPERA_MAXIMA_MS, ESPERA_INICIAL_MS << Math.min(tentativas, 20));
+    }
+
+    // Métricas da fila, num intervalo bem maior que o do despachante: a contagem lê a fila inteira.
+    // Do primário: na réplica a fila pode parecer menor do que é
+    @Scheduled(fixedDelayString = "${outbox.metricas-ms:15000}")
+    public void atualizarPendencias() {
+        List<Object[]> linhas = RoteamentoBanco.noPrimario(repository::pendencias);
+        if (!linhas.isEmpty()) {
+            Object[] linha = linhas.get(0);
+            pendentes.set(((Number) linha[0]).longValue());
+            atrasoMs.set(((Number) linha[1]).longValue());
+        }
+    }
+}
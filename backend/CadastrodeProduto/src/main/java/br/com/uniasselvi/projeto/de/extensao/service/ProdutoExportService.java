@@ -0,0 +1,108 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+@Service // Exportação do catálogo completo (sincronização com ERP, relatórios noturnos)
+public class ProdutoExportService {
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Escreve produto por produto direto na saída (a resposta HTTP).
+    // Cada entidade é "solta" (detach) do Hibernate logo depois de escrita,
+    // então a memória usada não cresce com o tamanho do catálogo.
+    @Transactional(readOnly = true)
+    public void exportar(FormatoExportacao formato, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+
+        if (formato == FormatoExportacao.CSV) {
+            writer.write("id,nome,preco,categoria,quantidade\n");
+        }
+
+        try (Stream<Produto> produtos = repository.streamTodos()) {
+            produtos.forEach(produto -> {
+                try {
+                    if (formato == FormatoExportacao.CSV) {
+                        escreverCsv(writer, produto);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(produto));
+                        writer.write('\n');
+                    }
+                } catch (IOException e) {
+                    // O cliente desconectou no meio do download, por exemplo
+                    throw new UncheckedIOException(e);
+                }
+                entityManager.detach(produto);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+    }
+
+    private void escreverCsv(Writer writer, Produto produto) throws IOException {
+        writer.write(String.valueOf(produto.getId()));
+        writer.write(',');
+        writer.write(campoCsv(produto.getNome()));
+        writer.write(',');
+        writer.write(produto.getPreco() == null ? "" : produto.getPreco().toPlainString());
+        writer.write(',');
+        writer.write(campoCsv(produto.getCategoria()));
+        writer.write(',');
+        writer.write(String.valueOf(produto.getQuantidade()));
+        writer.write('\n');
+    }
+
+    // Coloca aspas quando o texto tem vírgula, aspas ou quebra de linha (padrão RFC 4180)
+    static String campoCsv(String valor) {
+        if (valor == null) return "";
+        if (valor.contains(",") || valor.contains("\"") || valor.contains("\n") || valor.contains("\r")) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+
+    public enum FormatoExportacao {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extensao;
+
+        FormatoExportacao(String contentType, String extensao) {
+            this.contentType = contentType;
+            this.extensao = extensao;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+    }
+}
@@ -1,46 +1,484 @@
 package br.com.uniasselvi.projeto.de.extensao.service;
 
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco;
+import br.com.uniasselvi.projeto.de.extensao.dto.EventoProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ItemLoteDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ProdutoFiltroDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ProdutoPaginaDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ResultadoLoteDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Deposito;
+import br.com.uniasselvi.projeto.de.extensao.entity.EstoqueDeposito;
+import br.com.uniasselvi.projeto.de.extensao.entity.MovimentoEstoque;
 import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.repository.DepositoRepository;
+import br.com.uniasselvi.projeto.de.extensao.repository.EstoqueDepositoRepository;
 import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 @Service // Indica ao Spring que esta classe contém regras de negócio
 public class ProdutoService {
 
+    // Tamanho máximo de uma página, para ninguém pedir o catálogo inteiro de uma vez
+    static final int LIMITE_MAXIMO = 500;
+
+    // Maior lote aceito pelos endpoints /batch
+    static final int LIMITE_LOTE = 5000;
+
+    // A partir desse tamanho a validação dos itens do lote roda em paralelo
+    static final int VALIDACAO_PARALELA_A_PARTIR_DE = 256;
+
+    // Sem depósito no pedido (PUT /produtos, lotes) a diferença de quantidade vai para o principal;
+    // baixar o total além do que está nele tiraria estoque de outro depósito sem dizer de qual
+    static final String PRINCIPAL_INSUFICIENTE =
+            "Estoque insuficiente no depósito principal; o restante está em outros depósitos";
+
     @Autowired
     private ProdutoRepository repository;
 
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventosProdutoService eventos;
+
+    @Autowired
+    private BuscaProdutoService busca;
+
+    @Autowired
+    private OutboxService outbox;
+
+    @Autowired
+    private DepositoRepository depositoRepository;
+
+    @Autowired
+    private EstoqueDepositoRepository estoqueDeposito;
+
+    // Somente leitura: com réplica configurada (banco.replica.url) a consulta vai para ela
+    @Transactional(readOnly = true)
+    public ProdutoPaginaDTO listarPagina(Long cursor, int limite, ProdutoFiltroDTO filtro) {
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        long depoisDe = cursor == null ? 0L : cursor;
+        String nome = (filtro.nome() == null || filtro.nome().isBlank()) ? null : filtro.nome();
+        String categoria = (filtro.categoria() == null || filtro.categoria().isBlank()) ? null : filtro.categoria();
+
+        // Buscamos um item a mais só para saber se existe próxima página
+        List<Produto> itens = repository.buscarPagina(depoisDe, nome, categoria,
+                filtro.precoMin(), filtro.precoMax(),
+                filtro.quantidadeMin(), filtro.quantidadeMax(),
+                Limit.of(tamanho + 1));
+
+        if (itens.size() <= tamanho) {
+            return new ProdutoPaginaDTO(itens, null);
+        }
+        List<Produto> pagina = itens.subList(0, tamanho);
+        return new ProdutoPaginaDTO(pagina, pagina.get(tamanho - 1).getId());
+    }
+
     public Produto criar(Produto criarProduto){
-        boolean existe = repository.existsByNome(criarProduto.getNome());
+        // As leituras que decidem uma gravação vão sempre ao primário: a réplica pode estar alguns segundos atrás
+        boolean existe = RoteamentoBanco.noPrimario(() -> repository.existsByNome(criarProduto.getNome()));
 
         if (existe) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Produto já cadastrado");
         }
-        return repository.save(criarProduto);
+        // Id e versão são sempre do banco: com um id no corpo o save() viraria um merge sobre o produto existente
+        criarProduto.setId(null);
+        criarProduto.setVersao(null);
+        Produto salvo = salvar(criarProduto, 0, MovimentoEstoque.Tipo.ENTRADA, EventoProdutoDTO.Tipo.CRIADO);
+        dashboardService.registrarCriacao(salvo);
+        eventos.publicar(EventoProdutoDTO.criado(salvo));
+        busca.indexar(salvo);
+        return salvo;
     }
 
     public Produto atualizar(Long id, Produto produtoAtualizado) {
 
         // Tenta buscar o produto, ou lança erro se não achar
-        Produto produtoExistente = repository.findById(id)
+        Produto produtoExistente = RoteamentoBanco.noPrimario(() -> repository.findById(id))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                 "Produto não encontrado"));
 
+        conferirVersao(produtoExistente, produtoAtualizado);
+
+        // Guardamos como era antes, para o dashboard descontar os valores antigos
+        Produto antes = new Produto(produtoExistente.getId(), produtoExistente.getNome(),
+                produtoExistente.getPreco(), produtoExistente.getCategoria(), produtoExistente.getQuantidade());
+
         // Aqui fazemos a atualização dos dados
         updateData(produtoExistente, produtoAtualizado);
 
         // Salva no banco
-        return repository.save(produtoExistente);
+        Produto salvo = salvar(produtoExistente, antes.getQuantidade(), MovimentoEstoque.Tipo.AJUSTE,
+                EventoProdutoDTO.Tipo.ALTERADO);
+        dashboardService.registrarAtualizacao(antes, salvo);
+        eventos.publicar(EventoProdutoDTO.alterado(salvo));
+        busca.indexar(salvo);
+        return salvo;
+    }
+
+    // O existsByNome acima é só um atalho: quem garante o nome único é o índice ux_produto_nome.
+    // Se dois cadastros iguais chegarem juntos, o segundo cai aqui e vira 409.
+    // A diferença de quantidade entra no histórico de estoque, no depósito principal e o evento no outbox,
+    // na mesma transação.
+    private Produto salvar(Produto produto, int quantidadeAnterior, MovimentoEstoque.Tipo tipo,
+                           EventoProdutoDTO.Tipo evento) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Produto salvo = repository.save(produto);
+                int diferenca = salvo.getQuantidade() - quantidadeAnterior;
+                estoqueService.registrar(salvo.getId(), tipo, diferenca);
+                if (evento == EventoProdutoDTO.Tipo.CRIADO) {
+                    estoqueDeposito.inserirIniciais(Deposito.PRINCIPAL, List.of(salvo.getId()));
+                } else if (!movimentar(Deposito.PRINCIPAL, salvo.getId(), diferenca)) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, PRINCIPAL_INSUFICIENTE);
+                }
+                outbox.registrar(evento, List.of(salvo.getId()));
+                return salvo;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Produto já cadastrado");
+        }
+    }
+
+    // Entrada ou saída de estoque sem ler-alterar-gravar: o próprio UPDATE soma o delta,
+    // então dois ajustes ao mesmo tempo nunca se perdem e o estoque nunca fica negativo.
+    public Produto ajustarEstoque(Long id, int delta) {
+        return ajustarEstoque(Deposito.PRINCIPAL, id, delta);
+    }
+
+    // O mesmo num depósito: primeiro o total em produto (que trava a linha do produto e ordena os ajustes
+    // dele em todos os depósitos), depois a linha do depósito. Se o depósito não tem o suficiente, volta tudo.
+    public Produto ajustarEstoque(long depositoId, Long id, int delta) {
+        if (depositoId != Deposito.PRINCIPAL
+                && !RoteamentoBanco.noPrimario(() -> depositoRepository.existsById(depositoId))) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Depósito não encontrado");
+        }
+        Produto depois = transactionTemplate.execute(status -> {
+            Produto ajustado = repository.ajustarEstoque(id, delta).orElse(null);
+            if (ajustado == null) {
+                return null;
+            }
+            if (!movimentar(depositoId, id, delta)) {
+                status.setRollbackOnly();
+                return null;
+            }
+            estoqueService.registrar(id, delta > 0 ? MovimentoEstoque.Tipo.ENTRADA : MovimentoEstoque.Tipo.SAIDA, delta);
+            outbox.registrarEstoque(id, depositoId, delta);
+            return ajustado;
+        });
+
+        if (depois == null) {
+            if (!RoteamentoBanco.noPrimario(() -> repository.existsById(id))) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado");
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Estoque insuficiente");
+        }
+
+        // Já depois do commit: tiramos do cache só este produto (e as consultas em cache,
+        // que podem filtrar por quantidade)
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Produto.class, id);
+        cache.unwrap(org.hibernate.Cache.class).evictDefaultQueryRegion();
+
+        // A linha que o próprio UPDATE devolveu: o antes é ela sem este delta, não uma leitura depois do commit
+        Produto antes = new Produto(depois.getId(), depois.getNome(),
+                depois.getPreco(), depois.getCategoria(), depois.getQuantidade() - delta);
+        dashboardService.registrarAtualizacao(antes, depois);
+        eventos.publicar(EventoProdutoDTO.estoque(depois, depositoId, delta));
+        return depois;
+    }
+
+    // Soma o delta na linha do depósito; false se for uma saída maior do que o depósito tem
+    private boolean movimentar(long depositoId, Long produtoId, int delta) {
+        if (delta > 0) {
+            return estoqueDeposito.entrada(depositoId, produtoId, delta) > 0;
+        }
+        if (delta < 0) {
+            return estoqueDeposito.saida(depositoId, produtoId, -delta) > 0;
+        }
+        return true;
+    }
+
+    // O estoque em cada depósito sai junto com o produto (ON DELETE CASCADE da V8)
+    public void excluir(Long id) {
+        Produto produto = RoteamentoBanco.noPrimario(() -> repository.findById(id))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                "Produto não encontrado"));
+
+        // O que sobrou em estoque sai como ajuste, para o histórico fechar em zero
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.delete(produto);
+            estoqueService.registrar(id, MovimentoEstoque.Tipo.AJUSTE, -produto.getQuantidade());
+            outbox.registrarExclusoes(List.of(id));
+        });
+        dashboardService.registrarExclusao(produto);
+        eventos.publicar(EventoProdutoDTO.excluido(id));
+        busca.remover(id);
     }
 
 
+    // Se o cliente mandou a versão que leu e ela não é mais a atual, alguém alterou o produto no meio tempo.
+    // Sem versão no corpo o comportamento continua o de antes (a última gravação vence).
+    private void conferirVersao(Produto existente, Produto atualizado) {
+        if (atualizado.getVersao() != null && !atualizado.getVersao().equals(existente.getVersao())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Produto alterado por outro usuário; recarregue e tente de novo");
+        }
+    }
+
     private void updateData(Produto existente, Produto atualizado) {
         existente.setNome(atualizado.getNome());
         existente.setPreco(atualizado.getPreco());
         existente.setCategoria(atualizado.getCategoria());
         existente.setQuantidade(atualizado.getQuantidade());
     }
+
+    // --- OPERAÇÕES EM LOTE ---
+    // Cada item recebe seu próprio resultado; os válidos são gravados juntos, numa transação só,
+    // e o Hibernate manda os comandos em lotes (hibernate.jdbc.batch_size).
+
+    public ResultadoLoteDTO criarLote(List<Produto> produtos) {
+        validarTamanhoLote(produtos.size());
+        ItemLoteDTO[] resultados = new ItemLoteDTO[produtos.size()];
+
+        // Uma consulta só para saber quais nomes já existem no banco
+        Set<String> nomesExistentes = RoteamentoBanco.noPrimario(() -> buscarPorNomes(produtos)).stream()
+                .map(Produto::getNome)
+                .collect(Collectors.toSet());
+
+        String[] erros = validarTodos(produtos);
+
+        Set<String> nomesNoLote = new HashSet<>();
+        Map<Integer, Produto> validos = new LinkedHashMap<>();
+        for (int i = 0; i < produtos.size(); i++) {
+            Produto produto = produtos.get(i);
+            String erro = erros[i];
+
+            if (erro != null) {
+                resultados[i] = new ItemLoteDTO(i, null, HttpStatus.BAD_REQUEST.value(), erro);
+            } else if (nomesExistentes.contains(produto.getNome()) || !nomesNoLote.add(produto.getNome())) {
+                resultados[i] = new ItemLoteDTO(i, null, HttpStatus.CONFLICT.value(), "Produto já cadastrado");
+            } else {
+                produto.setId(null); // Id e versão são sempre gerados pelo banco
+                produto.setVersao(null);
+                validos.put(i, produto);
+            }
+        }
+
+        if (!validos.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.saveAll(validos.values());
+                List<Long> ids = validos.values().stream().map(Produto::getId).toList();
+                estoqueService.registrarTodos(validos.values().stream()
+                        .map(p -> new MovimentoEstoque(p.getId(), MovimentoEstoque.Tipo.ENTRADA, p.getQuantidade()))
+                        .toList());
+                estoqueDeposito.inserirIniciais(Deposito.PRINCIPAL, ids); // Um INSERT ... SELECT para o lote todo
+                outbox.registrar(EventoProdutoDTO.Tipo.CRIADO, ids);
+            });
+            validos.forEach((i, salvo) -> {
+                resultados[i] = new ItemLoteDTO(i, salvo.getId(), HttpStatus.CREATED.value(), null);
+                dashboardService.registrarCriacao(salvo);
+            });
+            eventos.publicarTodos(validos.values().stream().map(EventoProdutoDTO::criado).toList());
+            busca.indexarTodos(validos.values());
+        }
+        return resultado(resultados);
+    }
+
+    public ResultadoLoteDTO atualizarLote(List<Produto> produtos) {
+        validarTamanhoLote(produtos.size());
+        ItemLoteDTO[] resultados = new ItemLoteDTO[produtos.size()];
+        List<Produto[]> alterados = new ArrayList<>(); // pares {antes, depois} para o dashboard
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Busca todos os produtos do lote e os donos dos nomes de uma vez
+            List<Long> ids = produtos.stream().filter(Objects::nonNull)
+                    .map(Produto::getId).filter(Objects::nonNull).toList();
+            Map<Long, Produto> existentes = repository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Produto::getId, Function.identity()));
+            Map<String, Long> donoDoNome = buscarPorNomes(produtos).stream()
+                    .collect(Collectors.toMap(Produto::getNome, Produto::getId, (a, b) -> a));
+            // Quanto cada um tem no depósito principal, de onde sai uma redução de quantidade
+            Map<Long, Integer> noPrincipal = existentes.isEmpty() ? new HashMap<>()
+                    : estoqueDeposito.buscarNoDeposito(Deposito.PRINCIPAL, existentes.keySet()).stream()
+                    .collect(Collectors.toMap(EstoqueDeposito::getProdutoId, EstoqueDeposito::getQuantidade,
+                            (a, b) -> a, HashMap::new));
+
+            Set<String> nomesNoLote = new HashSet<>();
+            List<Produto> paraSalvar = new ArrayList<>();
+            for (int i = 0; i < produtos.size(); i++) {
+                Produto atualizado = produtos.get(i);
+                Produto existente = (atualizado == null || atualizado.getId() == null)
+                        ? null : existentes.get(atualizado.getId());
+
+                if (existente == null) {
+                    resultados[i] = new ItemLoteDTO(i, atualizado == null ? null : atualizado.getId(),
+                            HttpStatus.NOT_FOUND.value(), "Produto não encontrado");
+                    continue;
+                }
+
+                String erro = validar(atualizado);
+                boolean versaoAntiga = atualizado.getVersao() != null
+                        && !atualizado.getVersao().equals(existente.getVersao());
+                Long dono = donoDoNome.get(atualizado.getNome());
+
+                if (erro != null) {
+                    resultados[i] = new ItemLoteDTO(i, existente.getId(), HttpStatus.BAD_REQUEST.value(), erro);
+                } else if (versaoAntiga) {
+                    resultados[i] = new ItemLoteDTO(i, existente.getId(), HttpStatus.CONFLICT.value(),
+                            "Produto alterado por outro usuário");
+                } else if ((dono != null && !dono.equals(existente.getId())) || !nomesNoLote.add(atualizado.getNome())) {
+                    resultados[i] = new ItemLoteDTO(i, existente.getId(), HttpStatus.CONFLICT.value(), "Produto já cadastrado");
+                } else if (existente.getQuantidade() - atualizado.getQuantidade()
+                        > noPrincipal.getOrDefault(existente.getId(), 0)) {
+                    resultados[i] = new ItemLoteDTO(i, existente.getId(), HttpStatus.CONFLICT.value(),
+                            PRINCIPAL_INSUFICIENTE);
+                } else {
+                    noPrincipal.merge(existente.getId(), atualizado.getQuantidade() - existente.getQuantidade(),
+                            Integer::sum);
+                    Produto antes = new Produto(existente.getId(), existente.getNome(),
+                            existente.getPreco(), existente.getCategoria(), existente.getQuantidade());
+                    updateData(existente, atualizado);
+                    paraSalvar.add(existente);
+                    alterados.add(new Produto[]{antes, existente});
+                    resultados[i] = new ItemLoteDTO(i, existente.getId(), HttpStatus.OK.value(), null);
+                }
+            }
+            repository.saveAll(paraSalvar);
+            estoqueService.registrarTodos(alterados.stream()
+                    .map(par -> new MovimentoEstoque(par[1].getId(), MovimentoEstoque.Tipo.AJUSTE,
+                            par[1].getQuantidade() - par[0].getQuantidade()))
+                    .toList());
+            for (Produto[] par : alterados) {
+                // Já conferido acima; só falha se outra gravação mexeu no principal no meio (e aí volta o lote)
+                if (!movimentar(Deposito.PRINCIPAL, par[1].getId(), par[1].getQuantidade() - par[0].getQuantidade())) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, PRINCIPAL_INSUFICIENTE);
+                }
+            }
+            outbox.registrar(EventoProdutoDTO.Tipo.ALTERADO, paraSalvar.stream().map(Produto::getId).toList());
+        });
+
+        // Só depois do commit mexemos nos contadores
+        alterados.forEach(par -> dashboardService.registrarAtualizacao(par[0], par[1]));
+        if (!alterados.isEmpty()) {
+            eventos.publicarTodos(alterados.stream().map(par -> EventoProdutoDTO.alterado(par[1])).toList());
+            busca.indexarTodos(alterados.stream().map(par -> par[1]).toList());
+        }
+        return resultado(resultados);
+    }
+
+    public ResultadoLoteDTO excluirLote(List<Long> ids) {
+        validarTamanhoLote(ids.size());
+        ItemLoteDTO[] resultados = new ItemLoteDTO[ids.size()];
+
+        List<Produto> excluidos = transactionTemplate.execute(status -> {
+            List<Produto> encontrados = repository.findAllById(ids.stream().filter(Objects::nonNull).toList());
+            // Um único DELETE ... WHERE id IN (...)
+            repository.deleteAllByIdInBatch(encontrados.stream().map(Produto::getId).toList());
+            estoqueService.registrarTodos(encontrados.stream()
+                    .map(p -> new MovimentoEstoque(p.getId(), MovimentoEstoque.Tipo.AJUSTE, -p.getQuantidade()))
+                    .toList());
+            outbox.registrarExclusoes(encontrados.stream().map(Produto::getId).toList());
+            return encontrados;
+        });
+
+        Map<Long, Produto> porId = excluidos.stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        Set<Long> jaExcluidos = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            Produto produto = id == null ? null : porId.get(id);
+            if (produto == null || !jaExcluidos.add(id)) {
+                resultados[i] = new ItemLoteDTO(i, id, HttpStatus.NOT_FOUND.value(), "Produto não encontrado");
+            } else {
+                resultados[i] = new ItemLoteDTO(i, id, HttpStatus.NO_CONTENT.value(), null);
+                dashboardService.registrarExclusao(produto);
+            }
+        }
+        if (!excluidos.isEmpty()) {
+            eventos.publicarTodos(excluidos.stream().map(p -> EventoProdutoDTO.excluido(p.getId())).toList());
+            excluidos.forEach(p -> busca.remover(p.getId()));
+        }
+        return resultado(resultados);
+    }
+
+    private void validarTamanhoLote(int tamanho) {
+        if (tamanho == 0 || tamanho > LIMITE_LOTE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "O lote deve ter entre 1 e " + LIMITE_LOTE + " itens");
+        }
+    }
+
+    // Lotes grandes (importação de planilhas) são validados em paralelo; o Validator é thread-safe
+    private String[] validarTodos(List<Produto> produtos) {
+        String[] erros = new String[produtos.size()];
+        IntStream indices = IntStream.range(0, produtos.size());
+        if (produtos.size() >= VALIDACAO_PARALELA_A_PARTIR_DE) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> erros[i] = validar(produtos.get(i)));
+        return erros;
+    }
+
+    // Confere as regras da entidade (@NotBlank, @Positive...) e devolve as mensagens, ou null se estiver tudo certo
+    private String validar(Produto produto) {
+        if (produto == null) return "Item vazio";
+        Set<ConstraintViolation<Produto>> violacoes = validator.validate(produto);
+        if (violacoes.isEmpty()) return null;
+        return violacoes.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Produtos do banco que já usam algum dos nomes do lote
+    private List<Produto> buscarPorNomes(List<Produto> produtos) {
+        Set<String> nomes = produtos.stream()
+                .filter(Objects::nonNull)
+                .map(Produto::getNome)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return nomes.isEmpty() ? List.of() : repository.findByNomeIn(nomes);
+    }
+
+    private static ResultadoLoteDTO resultado(ItemLoteDTO[] resultados) {
+        int sucesso = (int) Arrays.stream(resultados).filter(r -> r.status() < 300).count();
+        return new ResultadoLoteDTO(sucesso, resultados.length - sucesso, List.of(resultados));
+    }
 }
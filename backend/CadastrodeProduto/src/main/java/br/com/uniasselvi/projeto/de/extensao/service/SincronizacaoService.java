@@ -0,0 +1,94 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.AlteracoesProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+// Sincronização incremental do catálogo para quem guarda uma cópia local (front, PDVs).
+// A "versão" é o número de transação do Postgres: a resposta traz tudo que transações a partir de "desde"
+// gravaram e devolve como próxima versão o horizonte do snapshot (a menor transação ainda aberta).
+// Uma gravação lenta que ainda não tinha confirmado fica acima do horizonte e vem na próxima chamada;
+// em troca, alguns produtos podem vir repetidos, o que não faz diferença para quem substitui pelo id.
+//
+// Em páginas (since=0 seria o catálogo inteiro numa resposta só): alterados e excluídos seguem cada um a ordem
+// (transação, id), e o cursor guarda onde cada lista parou. Um produto alterado no meio do caminho ganha uma
+// transação nova e vai para o fim da ordem, então ainda aparece numa página seguinte. O horizonte é o da
+// primeira página e só é entregue na última: tudo que estava aberto enquanto as páginas eram lidas fica acima dele.
+@Service
+public class SincronizacaoService {
+
+    // Maior página aceita, para ninguém pedir o catálogo inteiro de uma vez
+    static final int LIMITE_MAXIMO = 1000;
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    // REPEATABLE READ: horizonte, alterados e excluídos de uma página saem do mesmo snapshot
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public AlteracoesProdutoDTO alteracoesDesde(long desde, String cursor, int limite) {
+        if (desde < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A versão não pode ser negativa");
+        }
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        // Na primeira sincronização (desde = 0) as exclusões antigas não interessam
+        Posicao posicao = cursor == null
+                ? new Posicao(repository.horizonteSincronizacao(), desde, 0, desde == 0 ? Posicao.ACABOU : desde, 0)
+                : Posicao.ler(cursor);
+
+        // Um item a mais só para saber se a lista continua
+        List<Produto> alterados = posicao.alteradoTransacao() == Posicao.ACABOU ? List.of()
+                : repository.buscarAlteradosDepois(posicao.alteradoTransacao(), posicao.alteradoId(), tamanho + 1);
+        List<Long> excluidos = posicao.excluidoTransacao() == Posicao.ACABOU ? List.of()
+                : repository.buscarExcluidosDepois(posicao.excluidoTransacao(), posicao.excluidoId(), tamanho + 1);
+
+        long alteradoTransacao = Posicao.ACABOU, alteradoId = 0;
+        if (alterados.size() > tamanho) {
+            alterados = alterados.subList(0, tamanho);
+            alteradoId = alterados.get(tamanho - 1).getId();
+            alteradoTransacao = repository.transacaoDaAlteracao(alteradoId);
+        }
+        long excluidoTransacao = Posicao.ACABOU, excluidoId = 0;
+        if (excluidos.size() > tamanho) {
+            excluidos = excluidos.subList(0, tamanho);
+            excluidoId = excluidos.get(tamanho - 1);
+            excluidoTransacao = repository.transacaoDaExclusao(excluidoId);
+        }
+
+        if (alteradoTransacao == Posicao.ACABOU && excluidoTransacao == Posicao.ACABOU) {
+            return new AlteracoesProdutoDTO(posicao.horizonte(), alterados, excluidos, null);
+        }
+        Posicao proxima = new Posicao(posicao.horizonte(), alteradoTransacao, alteradoId, excluidoTransacao, excluidoId);
+        return new AlteracoesProdutoDTO(null, alterados, excluidos, proxima.escrever());
+    }
+
+    // Onde cada lista parou: depois de (transação, id), ou ACABOU. Vai para o cliente como texto opaco
+    record Posicao(long horizonte, long alteradoTransacao, long alteradoId, long excluidoTransacao, long excluidoId) {
+
+        static final long ACABOU = -1;
+
+        String escrever() {
+            return horizonte + "." + alteradoTransacao + "." + alteradoId + "." + excluidoTransacao + "." + excluidoId;
+        }
+
+        static Posicao ler(String cursor) {
+            String[] partes = cursor.split("\\.");
+            try {
+                if (partes.length == 5) {
+                    return new Posicao(Long.parseLong(partes[0]), Long.parseLong(partes[1]), Long.parseLong(partes[2]),
+                            Long.parseLong(partes[3]), Long.parseLong(partes[4]));
+                }
+            } catch (NumberFormatException e) {
+                // cai no erro abaixo
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
+}
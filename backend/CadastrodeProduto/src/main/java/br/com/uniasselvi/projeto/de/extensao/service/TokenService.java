@@ -2,9 +2,12 @@ package br.com.uniasselvi.projeto.de.extensao.service;
 
 import br.com.uniasselvi.projeto.de.extensao.entity.Usuario;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -21,12 +24,22 @@ public class TokenService {
     @Value("${api.security.token.secret:minha-senha-secreta-123}")
     private String secret;
 
+    // Algoritmo e verificador são criados uma vez só e reaproveitados (são thread-safe)
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    @PostConstruct
+    void init() {
+        // Define o algoritmo de criptografia (HMAC256 é o padrão de mercado)
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer("estoque-api") // Verifica se foi nossa API que emitiu
+                .build();
+    }
+
     // 1. MÉTODO PARA GERAR A "PULSEIRA" (TOKEN)
     public String generateToken(Usuario usuario) {
         try {
-            // Define o algoritmo de criptografia (HMAC256 é o padrão de mercado)
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-
             // Cria o token
             return JWT.create()
                     .withIssuer("estoque-api") // Quem emitiu? (Nome da sua API)
@@ -42,20 +55,19 @@ public class TokenService {
     // 2. MÉTODO PARA LER/VALIDAR A "PULSEIRA"
     public String validateToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-
-            return JWT.require(algorithm)
-                    .withIssuer("estoque-api") // Verifica se foi nossa API que emitiu
-                    .build()
-                    .verify(token) // Descriptografa e valida
-                    .getSubject(); // Devolve o Login que estava escondido no token
-
+            return verificar(token).getSubject(); // Devolve o Login que estava escondido no token
         } catch (JWTVerificationException exception) {
             // Se o token for falso ou estiver vencido, retorna vazio
             return "";
         }
     }
 
+    // Valida e devolve o token decodificado (login + data de expiração).
+    // Lança TokenExpiredException se venceu, ou JWTVerificationException se for falso/malformado.
+    public DecodedJWT verificar(String token) {
+        return verifier.verify(token); // Descriptografa e valida
+    }
+
     // 3. MÉTODO AUXILIAR PARA CALCULAR O TEMPO (2 HORAS)
     private Instant genExpirationDate() {
         // Pega a hora atual, soma 2 horas e converte para o fuso horário de Brasília (-3)
@@ -0,0 +1,42 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// ETags de GET /produtos e do dashboard: se o cliente mandar If-None-Match com a versão atual, respondemos 304
+// sem ler o catálogo. A versão vem do banco (a última transação que gravou ou excluiu um produto, mantida pelos
+// gatilhos da V5), então uma gravação feita por qualquer instância, ou direto no banco, muda a ETag de todas.
+@Component
+public class VersaoCatalogo {
+
+    private final ProdutoRepository repository;
+
+    // Os contadores do dashboard são da instância e a conferência com o banco pode corrigi-los sem nenhuma
+    // gravação nova; por isso a ETag do dashboard leva também o início da aplicação e as correções feitas aqui
+    private final String inicio = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong correcoesDashboard = new AtomicLong();
+
+    public VersaoCatalogo(ProdutoRepository repository) {
+        this.repository = repository;
+    }
+
+    public void registrarCorrecaoDashboard() {
+        correcoesDashboard.incrementAndGet();
+    }
+
+    // Fraca (W/): o conteúdo é o mesmo, mas os bytes podem mudar com a compressão gzip.
+    // null quando ainda há transação aberta que pode confirmar uma gravação sem mudar a versão: aí a resposta
+    // vai sem ETag e o cliente baixa de novo na próxima vez
+    public String etag() {
+        Long versao = repository.versaoCatalogo();
+        return versao == null ? null : "W/\"" + versao + "\"";
+    }
+
+    public String etagDashboard() {
+        Long versao = repository.versaoCatalogo();
+        return versao == null ? null : "W/\"" + versao + "-" + inicio + "-" + correcoesDashboard.get() + "\"";
+    }
+}
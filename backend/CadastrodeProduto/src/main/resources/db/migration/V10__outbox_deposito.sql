@@ -0,0 +1,3 @@
+-- Ajustes de estoque por depósito: o evento do outbox leva também o depósito onde entrou ou saiu
+-- (null nos outros tipos). Os ajustes em /produtos são do depósito principal.
+ALTER TABLE outbox_produto ADD COLUMN IF NOT EXISTS deposito_id BIGINT;
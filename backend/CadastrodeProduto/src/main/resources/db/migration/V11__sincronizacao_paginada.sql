@@ -0,0 +1,8 @@
+-- GET /produtos/changes em páginas: a ordem é (transação, id) e, com as duas colunas no índice, cada página
+-- continua de onde a anterior parou sem reler nada. Substituem os índices de uma coluna só da V5
+-- (o MAX da versão do catálogo, ProdutoRepository.versaoCatalogo, sai da ponta destes também).
+CREATE INDEX IF NOT EXISTS ix_produto_alterado_na_transacao_id ON produto (alterado_na_transacao, id);
+DROP INDEX IF EXISTS ix_produto_alterado_na_transacao;
+
+CREATE INDEX IF NOT EXISTS ix_produto_excluido_transacao_id ON produto_excluido (transacao, produto_id);
+DROP INDEX IF EXISTS ix_produto_excluido_transacao;
@@ -0,0 +1,24 @@
+-- Esquema que o Hibernate (ddl-auto=update) criava até aqui.
+-- Tudo com IF NOT EXISTS: em bancos que já existem este script não muda nada.
+
+CREATE TABLE IF NOT EXISTS produto (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    nome       VARCHAR(255),
+    preco      FLOAT(53),
+    categoria  VARCHAR(255),
+    quantidade INTEGER      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tb_usuarios (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    login VARCHAR(255),
+    senha VARCHAR(255),
+    role  VARCHAR(255)
+);
+
+-- Ids de produto vêm desta sequence, em blocos de 50 (allocationSize da entidade)
+CREATE SEQUENCE IF NOT EXISTS produto_seq START WITH 1 INCREMENT BY 50;
+
+-- Produtos antigos foram criados com IDENTITY: a sequence precisa começar depois do maior id
+SELECT setval('produto_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM produto) + 50,
+                                      (SELECT last_value FROM produto_seq)));
@@ -0,0 +1,14 @@
+-- Índices dos caminhos de busca de produto e usuário.
+
+-- Nome é único: o banco garante, mesmo com dois cadastros ao mesmo tempo (violação vira 409 na API)
+CREATE UNIQUE INDEX IF NOT EXISTS ux_produto_nome ON produto (nome);
+
+-- Filtro por prefixo do nome na listagem paginada: LOWER(nome) LIKE 'abc%'
+CREATE INDEX IF NOT EXISTS ix_produto_nome_lower ON produto (LOWER(nome) text_pattern_ops);
+
+-- Categoria + as colunas somadas no dashboard: o GROUP BY categoria vira um index-only scan.
+-- Também atende os filtros por categoria (é a primeira coluna), então não criamos outro índice só dela.
+CREATE INDEX IF NOT EXISTS ix_produto_categoria_resumo ON produto (categoria) INCLUDE (quantidade, preco);
+
+-- Login é buscado em todo login e em todo token que não está no cache
+CREATE UNIQUE INDEX IF NOT EXISTS ux_usuarios_login ON tb_usuarios (login);
@@ -0,0 +1,2 @@
+-- Controle de concorrência otimista: cada alteração do produto incrementa a versão
+ALTER TABLE produto ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
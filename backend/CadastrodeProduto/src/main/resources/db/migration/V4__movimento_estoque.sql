@@ -0,0 +1,32 @@
+-- Histórico de estoque: cada entrada, saída ou ajuste vira uma linha nova (nunca alterada)
+CREATE SEQUENCE IF NOT EXISTS movimento_estoque_seq START WITH 1 INCREMENT BY 50;
+
+-- Sem chave estrangeira de propósito: o histórico continua existindo depois que o produto é excluído
+CREATE TABLE IF NOT EXISTS movimento_estoque (
+    id         BIGINT PRIMARY KEY,
+    produto_id BIGINT NOT NULL,
+    tipo       VARCHAR(10) NOT NULL,
+    quantidade INTEGER NOT NULL,
+    criado_em  TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_movimento_produto_data ON movimento_estoque (produto_id, criado_em);
+CREATE INDEX IF NOT EXISTS ix_movimento_data ON movimento_estoque (criado_em);
+
+-- Saldo de cada produto até um instante, gerado pelo compactador; consultas "estoque em tal data"
+-- partem do snapshot mais próximo e só somam os movimentos depois dele
+CREATE TABLE IF NOT EXISTS snapshot_estoque (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    produto_id BIGINT NOT NULL,
+    ate        TIMESTAMP WITH TIME ZONE NOT NULL,
+    quantidade INTEGER NOT NULL,
+    CONSTRAINT ux_snapshot_produto_ate UNIQUE (produto_id, ate)
+);
+
+CREATE INDEX IF NOT EXISTS ix_snapshot_ate ON snapshot_estoque (ate);
+
+-- O estoque que já existia entra como um ajuste inicial
+INSERT INTO movimento_estoque (id, produto_id, tipo, quantidade, criado_em)
+SELECT nextval('movimento_estoque_seq'), id, 'AJUSTE', quantidade, now()
+FROM produto
+WHERE quantidade <> 0;
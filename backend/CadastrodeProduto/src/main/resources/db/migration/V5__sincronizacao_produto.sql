@@ -0,0 +1,43 @@
+-- Sincronização incremental (GET /produtos/changes): cada produto guarda quando e em qual transação
+-- foi alterado pela última vez, e cada exclusão deixa uma lápide. Quem preenche são os gatilhos abaixo,
+-- então vale para qualquer caminho de escrita (JPA, UPDATE nativo do estoque, lotes, alteração manual).
+ALTER TABLE produto ADD COLUMN IF NOT EXISTS alterado_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+ALTER TABLE produto ADD COLUMN IF NOT EXISTS alterado_na_transacao BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS ix_produto_alterado_na_transacao ON produto (alterado_na_transacao);
+
+-- Lápides ficam para sempre (são três colunas e exclusões são raras); o id de produto nunca é reaproveitado
+CREATE TABLE IF NOT EXISTS produto_excluido (
+    produto_id  BIGINT PRIMARY KEY,
+    excluido_em TIMESTAMP WITH TIME ZONE NOT NULL,
+    transacao   BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_produto_excluido_transacao ON produto_excluido (transacao);
+
+-- O número da transação (e não um contador) é o que permite ao leitor saber até onde já viu tudo:
+-- transações abaixo do xmin do snapshot dele já terminaram (veja ProdutoRepository.horizonteSincronizacao)
+CREATE OR REPLACE FUNCTION marcar_alteracao_produto() RETURNS trigger AS $$
+BEGIN
+    NEW.alterado_em := now();
+    NEW.alterado_na_transacao := CAST(CAST(pg_current_xact_id() AS TEXT) AS BIGINT);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION registrar_exclusao_produto() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO produto_excluido (produto_id, excluido_em, transacao)
+    VALUES (OLD.id, now(), CAST(CAST(pg_current_xact_id() AS TEXT) AS BIGINT))
+    ON CONFLICT (produto_id) DO UPDATE SET excluido_em = EXCLUDED.excluido_em, transacao = EXCLUDED.transacao;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tg_produto_alteracao ON produto;
+CREATE TRIGGER tg_produto_alteracao BEFORE INSERT OR UPDATE ON produto
+    FOR EACH ROW EXECUTE FUNCTION marcar_alteracao_produto();
+
+DROP TRIGGER IF EXISTS tg_produto_exclusao ON produto;
+CREATE TRIGGER tg_produto_exclusao AFTER DELETE ON produto
+    FOR EACH ROW EXECUTE FUNCTION registrar_exclusao_produto();
@@ -0,0 +1,11 @@
+-- Preço em reais com 2 casas exatas (NUMERIC), no lugar de FLOAT(53).
+-- O valor em estoque (SUM(preco * quantidade)) passa a ser exato, e o índice ix_produto_categoria_resumo
+-- é recriado pelo próprio ALTER com a coluna nova.
+
+-- Preços que não eram um valor em centavos (ex: 19.899 vindo de uma planilha) mudam de valor no arredondamento:
+-- o UPDATE passa pelo gatilho de sincronização, então os clientes de /produtos/changes recebem o preço novo
+UPDATE produto SET preco = ROUND(CAST(preco AS NUMERIC), 2)
+WHERE preco IS NOT NULL AND CAST(preco AS NUMERIC) <> ROUND(CAST(preco AS NUMERIC), 2);
+
+-- Reescreve a tabela com lock exclusivo: em catálogo grande, rodar fora do horário de pico
+ALTER TABLE produto ALTER COLUMN preco TYPE NUMERIC(12, 2) USING ROUND(CAST(preco AS NUMERIC), 2);
@@ -0,0 +1,19 @@
+-- Outbox: cada gravação no catálogo deixa aqui o evento para os sistemas de fora (ERP, busca, BI),
+-- na mesma transação da gravação. O despachante (OutboxService) entrega e apaga.
+-- O id vem da identidade no momento do INSERT, que acontece depois de a linha do produto estar travada
+-- pela própria transação: para um mesmo produto, a ordem dos ids é a ordem dos commits.
+CREATE TABLE IF NOT EXISTS outbox_produto (
+    id            BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    produto_id    BIGINT NOT NULL,
+    tipo          VARCHAR(10) NOT NULL,
+    delta         INTEGER,
+    -- O produto como ficou depois da gravação (null na exclusão)
+    payload       JSONB,
+    criado_em     TIMESTAMP WITH TIME ZONE NOT NULL,
+    -- Depois de uma falha na entrega o evento espera até aqui para tentar de novo
+    disponivel_em TIMESTAMP WITH TIME ZONE NOT NULL,
+    tentativas    INTEGER NOT NULL DEFAULT 0
+);
+
+-- "Existe evento mais antigo deste produto?", para o despachante só pegar o primeiro da fila de cada produto
+CREATE INDEX IF NOT EXISTS ix_outbox_produto_ordem ON outbox_produto (produto_id, id);
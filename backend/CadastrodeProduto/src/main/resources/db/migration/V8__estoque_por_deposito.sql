@@ -0,0 +1,48 @@
+-- Estoque por depósito. produto.quantidade continua existindo e passa a ser o total de todos os depósitos
+-- (o "rollup"): é atualizado na mesma transação de cada entrada/saída, então GET /produtos segue lendo
+-- só a tabela produto, sem juntar com o estoque de cada depósito.
+CREATE TABLE IF NOT EXISTS deposito (
+    id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    codigo VARCHAR(20) NOT NULL,
+    nome   VARCHAR(100) NOT NULL,
+    CONSTRAINT ux_deposito_codigo UNIQUE (codigo)
+);
+
+-- Uma linha por produto em cada depósito onde ele tem (ou já teve) estoque: cresce com produtos x depósitos.
+-- Particionada por depósito: as consultas de um depósito só leem a partição dele, e um depósito
+-- desativado sai com um DROP da partição em vez de um DELETE enorme.
+CREATE TABLE IF NOT EXISTS estoque_deposito (
+    deposito_id BIGINT NOT NULL REFERENCES deposito (id),
+    produto_id  BIGINT NOT NULL REFERENCES produto (id) ON DELETE CASCADE,
+    quantidade  INTEGER NOT NULL CHECK (quantidade >= 0),
+    PRIMARY KEY (deposito_id, produto_id)
+) PARTITION BY LIST (deposito_id);
+
+-- Onde um produto tem estoque (todos os depósitos) e o ON DELETE CASCADE da exclusão do produto
+CREATE INDEX IF NOT EXISTS ix_estoque_deposito_produto ON estoque_deposito (produto_id);
+
+-- Cada depósito novo ganha a sua partição na mesma transação do INSERT, por qualquer caminho
+-- (POST /depositos ou SQL manual). Sem partição DEFAULT: um depósito sem partição é erro, não some no meio das outras.
+CREATE OR REPLACE FUNCTION criar_particao_estoque() RETURNS trigger AS $$
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS estoque_deposito_%s PARTITION OF estoque_deposito FOR VALUES IN (%s)',
+                   NEW.id, NEW.id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tg_deposito_particao ON deposito;
+CREATE TRIGGER tg_deposito_particao AFTER INSERT ON deposito
+    FOR EACH ROW EXECUTE FUNCTION criar_particao_estoque();
+
+-- Depósito 1: onde fica o estoque que já existia e o que chega pelos endpoints sem depósito
+-- (POST/PUT /produtos, PATCH /produtos/{id}/estoque). Veja Deposito.PRINCIPAL.
+INSERT INTO deposito (codigo, nome)
+SELECT 'PRINCIPAL', 'Depósito principal'
+WHERE NOT EXISTS (SELECT 1 FROM deposito);
+
+INSERT INTO estoque_deposito (deposito_id, produto_id, quantidade)
+SELECT 1, id, quantidade
+FROM produto
+WHERE quantidade > 0
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,3 @@
+-- "Tem evento pronto para entregar?", que o despachante pergunta a cada rodada (OutboxService):
+-- com o índice a resposta sai da primeira entrada, mesmo com a fila cheia de eventos esperando nova tentativa
+CREATE INDEX IF NOT EXISTS ix_outbox_produto_disponivel ON outbox_produto (disponivel_em);
@@ -0,0 +1,23 @@
+package br.com.uniasselvi.projeto.de.extensao.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CatalogoReativoConfigTest {
+
+    @Test
+    void deveConverterAUrlDoJdbcParaR2dbc() {
+        assertEquals("r2dbc:postgresql://db:5432/estoque",
+                CatalogoReativoConfig.urlR2dbc("jdbc:postgresql://db:5432/estoque"));
+
+        // Usuário e senha saem da URL (o R2DBC recusa); as outras opções mudam de nome quando precisa
+        assertEquals("r2dbc:postgresql://db:5432/estoque?sslMode=require&schema=loja",
+                CatalogoReativoConfig.urlR2dbc("jdbc:postgresql://db:5432/estoque?user=app&sslmode=require&password=x&currentSchema=loja"));
+        assertEquals("r2dbc:postgresql://db/estoque",
+                CatalogoReativoConfig.urlR2dbc("jdbc:postgresql://db/estoque?user=app"));
+
+        assertThrows(IllegalStateException.class, () -> CatalogoReativoConfig.urlR2dbc("postgres://db/estoque"));
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.uniasselvi.projeto.de.extensao.config;
+
+import br.com.uniasselvi.projeto.de.extensao.config.RoteamentoBanco.Rota;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonitorReplicaTest {
+
+    // Atraso máximo 2s, conferência a cada 1s: a janela depois de uma gravação é 2s + 3 x 1s
+    private final AtomicLong agora = new AtomicLong(1_000_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MonitorReplica monitor = new MonitorReplica(null, null, Duration.ofSeconds(2), Duration.ofSeconds(1),
+            meterRegistry, agora::get);
+
+    @AfterEach
+    void limpar() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveMandarLeiturasParaAReplicaSoEnquantoElaEstiverEmDia() {
+        // Antes da primeira conferência não se sabe o atraso
+        assertEquals(Rota.PRIMARIO, monitor.decidir(true));
+
+        monitor.atualizarAtraso(500);
+        assertEquals(Rota.REPLICA, monitor.decidir(true));
+        assertEquals(Rota.PRIMARIO, monitor.decidir(false)); // Gravação nunca vai para a réplica
+
+        monitor.atualizarAtraso(2_500);
+        assertEquals(Rota.PRIMARIO, monitor.decidir(true));
+
+        // Conferência sem resposta por mais de 3 intervalos: não dá para confiar no último atraso medido
+        monitor.atualizarAtraso(0);
+        agora.addAndGet(3_001);
+        assertFalse(monitor.replicaEmDia());
+        assertEquals(Rota.PRIMARIO, monitor.decidir(true));
+
+        assertEquals(1.0, meterRegistry.get("banco.transacoes").tag("rota", "replica").counter().count());
+        assertEquals(4.0, meterRegistry.get("banco.transacoes").tag("rota", "primario").counter().count());
+    }
+
+    @Test
+    void quemGravouDeveLerDoPrimarioAteAReplicaTerAGravacao() {
+        monitor.atualizarAtraso(0);
+        entrarComo("maria");
+        monitor.registrarGravacao(MonitorReplica.clienteAtual());
+
+        assertEquals(Rota.PRIMARIO, monitor.decidir(true));
+        assertTrue(monitor.gravacaoRecente());
+
+        // Os outros usuários continuam lendo da réplica
+        entrarComo("joao");
+        assertEquals(Rota.REPLICA, monitor.decidir(true));
+
+        // Passada a janela a réplica (em dia nesse meio tempo) já tem a gravação
+        agora.addAndGet(5_000);
+        monitor.atualizarAtraso(0);
+        entrarComo("maria");
+        assertEquals(Rota.REPLICA, monitor.decidir(true));
+        assertFalse(monitor.gravacaoRecente());
+    }
+
+    @Test
+    void leituraForcadaNoPrimarioNaoDeveIrParaAReplica() {
+        monitor.atualizarAtraso(0);
+
+        assertEquals(Rota.PRIMARIO, RoteamentoBanco.noPrimario(() -> monitor.decidir(true)));
+        assertEquals(Rota.REPLICA, monitor.decidir(true));
+    }
+
+    @Test
+    void deveGuardarARotaDeCadaTransacaoAninhada() {
+        assertEquals(Rota.PRIMARIO, RoteamentoBanco.rotaAtual()); // Fora de transação
+
+        RoteamentoBanco.entrar(Rota.REPLICA);
+        RoteamentoBanco.entrar(Rota.PRIMARIO); // REQUIRES_NEW dentro da leitura
+        assertEquals(Rota.PRIMARIO, RoteamentoBanco.rotaAtual());
+        RoteamentoBanco.sair();
+        assertEquals(Rota.REPLICA, RoteamentoBanco.rotaAtual());
+        RoteamentoBanco.sair();
+
+        assertEquals(Rota.PRIMARIO, RoteamentoBanco.rotaAtual());
+    }
+
+    private static void entrarComo(String login) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(login, null, AuthorityUtils.NO_AUTHORITIES));
+    }
+}
@@ -3,6 +3,7 @@ package br.com.uniasselvi.projeto.de.extensao.controller;
 import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
 import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
 import br.com.uniasselvi.projeto.de.extensao.service.ProdutoService; // Importe o Service
+import br.com.uniasselvi.projeto.de.extensao.service.VersaoCatalogo;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,9 +11,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +34,9 @@ public class ProdutoControllerTest {
     @Mock
     private ProdutoService service;
 
+    @Mock
+    private VersaoCatalogo versaoCatalogo;
+
     @InjectMocks
     private ProdutoController controller;
 
@@ -33,15 +44,12 @@ public class ProdutoControllerTest {
     void temQueExcluirProduto() {
         Long idParaExcluir = 1L;
 
-        // Se o seu controller faz "repository.existsById", precisamos deste when:
-        when(repository.existsById(idParaExcluir)).thenReturn(true);
-
-        // Ação
+        // Ação (o controller delega a exclusão para o service, que também atualiza o dashboard)
         ResponseEntity<Void> resposta = controller.delete(idParaExcluir);
 
         // Verificação
         assertEquals(HttpStatus.NO_CONTENT, resposta.getStatusCode());
-        verify(repository, times(1)).deleteById(idParaExcluir);
+        verify(service, times(1)).excluir(idParaExcluir);
     }
 
     @Test
@@ -49,14 +57,14 @@ public class ProdutoControllerTest {
         // --- ARRANGE ---
         Produto produtoParaSalvar = new Produto();
         produtoParaSalvar.setNome("Teclado Mecânico");
-        produtoParaSalvar.setPreco(250.0);
+        produtoParaSalvar.setPreco(new BigDecimal("250.00"));
         produtoParaSalvar.setQuantidade(2);
         produtoParaSalvar.setCategoria("Eletronicos");
 
         Produto produtoSalvo = new Produto();
         produtoSalvo.setId(1L);
         produtoSalvo.setNome("Teclado Mecânico");
-        produtoSalvo.setPreco(250.0);
+        produtoSalvo.setPreco(new BigDecimal("250.00"));
         // ... configure os outros campos se necessário
 
         // --- MUDANÇA IMPORTANTE AQUI ---
@@ -73,4 +81,46 @@ public class ProdutoControllerTest {
         assertEquals(1L, resposta.getBody().getId());
         assertEquals("Teclado Mecânico", resposta.getBody().getNome());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveResponder304SemConsultarOBancoQuandoOCatalogoNaoMudou() {
+        when(versaoCatalogo.etag()).thenReturn("W/\"10\"");
+        when(repository.findAll()).thenReturn(List.of());
+
+        // Primeira chamada: 200 com a ETag
+        ResponseEntity<List<Produto>> primeira = controller.getAll(requisicao(null, new MockHttpServletResponse()));
+        String etag = primeira.getHeaders().getETag();
+        assertEquals("W/\"10\"", etag);
+
+        // Mesma ETag de volta: 304 e nenhuma consulta nova
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+        assertNull(controller.getAll(requisicao(etag, resposta)));
+        assertEquals(304, resposta.getStatus());
+        verify(repository, times(1)).findAll();
+
+        // Depois de uma gravação (desta ou de outra instância) a versão do banco é outra e a ETag antiga não vale
+        when(versaoCatalogo.etag()).thenReturn("W/\"11\"");
+        ResponseEntity<List<Produto>> depois = controller.getAll(requisicao(etag, new MockHttpServletResponse()));
+        assertEquals(HttpStatus.OK, depois.getStatusCode());
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    void naoDeveMandarETagEnquantoUmaGravacaoAindaPodeConfirmar() {
+        when(versaoCatalogo.etag()).thenReturn(null);
+        when(repository.findAll()).thenReturn(List.of());
+
+        ResponseEntity<List<Produto>> resposta = controller.getAll(requisicao("W/\"10\"", new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.OK, resposta.getStatusCode());
+        assertNull(resposta.getHeaders().getETag());
+    }
+
+    private ServletWebRequest requisicao(String ifNoneMatch, MockHttpServletResponse resposta) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, resposta);
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.uniasselvi.projeto.de.extensao.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimitadorTentativasTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    private final LimitadorTentativas limitador = new LimitadorTentativas(
+            new LimitadorTentativas.Regra(10, 60),
+            new LimitadorTentativas.Regra(2, 6),
+            relogio::get);
+
+    @Test
+    void deveBloquearOLoginDepoisDaRajadaEDevolverFichasComOTempo() {
+        assertTrue(limitador.permitirLogin("admin"));
+        assertTrue(limitador.permitirLogin("admin"));
+        assertFalse(limitador.permitirLogin("admin"));
+
+        // Outro login tem o próprio balde
+        assertTrue(limitador.permitirLogin("maria"));
+
+        // 6 por minuto = uma ficha a cada 10 segundos
+        relogio.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(limitador.permitirLogin("admin"));
+        assertFalse(limitador.permitirLogin("admin"));
+    }
+
+    @Test
+    void deveLimitarPorIpIndependenteDoLogin() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limitador.permitirIp("10.0.0.1"));
+        }
+        assertFalse(limitador.permitirIp("10.0.0.1"));
+        assertTrue(limitador.permitirIp("10.0.0.2"));
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.uniasselvi.projeto.de.extensao.security;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.Usuario;
+import br.com.uniasselvi.projeto.de.extensao.repository.UsuarioRepository;
+import br.com.uniasselvi.projeto.de.extensao.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityFilterTest {
+
+    @Mock
+    private UsuarioRepository userRepository;
+
+    @Spy
+    private TokenService tokenService = new TokenService();
+
+    @Spy
+    private TokenCache tokenCache = new TokenCache(100, Duration.ofMinutes(10));
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private SecurityFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenService, "secret", "segredo-de-teste");
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+        filter.registrarMetricas();
+    }
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveAutenticarEUsarCacheNaSegundaRequisicao() throws Exception {
+        Usuario usuario = new Usuario("maria", "hash", "USER");
+        String token = tokenService.generateToken(usuario);
+        when(userRepository.findByLogin("maria")).thenReturn(usuario);
+
+        filtrar("Bearer " + token);
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+
+        SecurityContextHolder.clearContext();
+        filtrar("Bearer " + token);
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+
+        // Só a primeira requisição foi ao banco
+        verify(userRepository, times(1)).findByLogin("maria");
+        assertEquals(1.0, contador("sucesso", "banco"));
+        assertEquals(1.0, contador("sucesso", "cache"));
+    }
+
+    @Test
+    void deveContarRequisicoesSemTokenETokenInvalido() throws Exception {
+        filtrar(null);
+        filtrar("Bearer isso-nao-e-um-jwt");
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1.0, contador("sem_token", "nenhuma"));
+        assertEquals(1.0, contador("invalido", "nenhuma"));
+        verifyNoInteractions(userRepository);
+    }
+
+    private void filtrar(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos");
+        if (authorization != null) request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private double contador(String resultado, String origem) {
+        return meterRegistry.get("auth.filtro.resultado")
+                .tag("resultado", resultado).tag("origem", origem)
+                .counter().count();
+    }
+}
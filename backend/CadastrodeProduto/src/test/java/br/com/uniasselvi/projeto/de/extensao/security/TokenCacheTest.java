@@ -0,0 +1,42 @@
+package br.com.uniasselvi.projeto.de.extensao.security;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.Usuario;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenCacheTest {
+
+    private final TokenCache tokenCache = new TokenCache(100, Duration.ofMinutes(10));
+
+    @Test
+    void deveDevolverUsuarioDoTokenGuardado() {
+        Usuario usuario = new Usuario("maria", "hash", "USER");
+
+        tokenCache.guardar("token-da-maria", usuario, Instant.now().plusSeconds(60));
+
+        assertSame(usuario, tokenCache.buscar("token-da-maria"));
+        assertNull(tokenCache.buscar("outro-token"));
+    }
+
+    @Test
+    void naoDeveGuardarTokenJaVencido() {
+        tokenCache.guardar("token-vencido", new Usuario("maria", "hash", "USER"), Instant.now().minusSeconds(1));
+
+        assertNull(tokenCache.buscar("token-vencido"));
+    }
+
+    @Test
+    void deveEsquecerTokensQuandoUsuarioMuda() {
+        tokenCache.guardar("token-da-maria", new Usuario("maria", "hash", "USER"), Instant.now().plusSeconds(60));
+        tokenCache.guardar("token-do-joao", new Usuario("joao", "hash", "USER"), Instant.now().plusSeconds(60));
+
+        tokenCache.invalidarUsuario("maria");
+
+        assertNull(tokenCache.buscar("token-da-maria"));
+        assertNotNull(tokenCache.buscar("token-do-joao"));
+    }
+}
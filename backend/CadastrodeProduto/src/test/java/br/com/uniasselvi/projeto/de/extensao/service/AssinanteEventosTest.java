@@ -0,0 +1,74 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.EventoProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssinanteEventosTest {
+
+    // Guarda o que seria escrito na conexão (nome do evento e dados)
+    private final List<String> enviados = new ArrayList<>();
+    private final List<Object> dados = new ArrayList<>();
+
+    private final SseEmitter emitter = new SseEmitter() {
+        @Override
+        public void send(SseEventBuilder builder) {
+            Set<ResponseBodyEmitter.DataWithMediaType> partes = builder.build();
+            String texto = partes.stream().map(p -> String.valueOf(p.getData())).collect(Collectors.joining());
+            enviados.add(texto.contains("event:") ? texto.replaceAll("(?s).*event:(\\w+).*", "$1") : "ping");
+            partes.stream().map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(EventoProdutoDTO.class::isInstance).forEach(dados::add);
+        }
+    };
+
+    private final AtomicLong descartados = new AtomicLong();
+
+    @Test
+    void clienteLentoRecebeSoOEstadoMaisNovoDeCadaProduto() throws Exception {
+        AssinanteEventos assinante = new AssinanteEventos(emitter, 10, descartados);
+        Produto mouse = new Produto(1L, "Mouse", new BigDecimal("10.00"), "Eletronicos", 5);
+
+        assertTrue(assinante.enfileirar(EventoProdutoDTO.criado(mouse)));   // Primeiro agenda o envio
+        assertFalse(assinante.enfileirar(EventoProdutoDTO.estoque(mouse, 1L, 2))); // Já agendado
+        assinante.enfileirar(EventoProdutoDTO.estoque(new Produto(2L, "Cabo", new BigDecimal("5.00"), "Acessorios", 3), 1L, -1));
+        assinante.enfileirar(EventoProdutoDTO.estoque(new Produto(2L, "Cabo", new BigDecimal("5.00"), "Acessorios", 1), 2L, -2));
+
+        assinante.drenar();
+
+        // Criado + ajuste = criado; dois ajustes = um com a soma
+        assertEquals(List.of("criado", "estoque"), enviados);
+        assertEquals(-3, ((EventoProdutoDTO) dados.get(1)).delta());
+        assertEquals(1, ((EventoProdutoDTO) dados.get(1)).produto().getQuantidade());
+        assertNull(((EventoProdutoDTO) dados.get(1)).depositoId()); // Ajustes em depósitos diferentes
+        assertTrue(assinante.enfileirar(EventoProdutoDTO.excluido(1L))); // Buffer vazio: agenda de novo
+    }
+
+    @Test
+    void bufferCheioViraResync() throws Exception {
+        AssinanteEventos assinante = new AssinanteEventos(emitter, 2, descartados);
+        for (long id = 1; id <= 3; id++) {
+            assinante.enfileirar(EventoProdutoDTO.excluido(id));
+        }
+        assinante.enfileirarHeartbeat();
+
+        assinante.drenar();
+
+        // Os dois primeiros foram descartados; o cliente é avisado e recebe só o que veio depois
+        assertEquals(List.of("resync", "excluido"), enviados);
+        assertEquals(2, descartados.get());
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.AlteracoesProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BuscaProdutoServiceTest {
+
+    @Mock
+    private ProdutoRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SincronizacaoService sincronizacao;
+
+    @InjectMocks
+    private BuscaProdutoService busca;
+
+    private final Produto caneta = new Produto(1L, "Caneta", new BigDecimal("2.00"), "Papelaria", 10);
+
+    @BeforeEach
+    void setUp() {
+        // Carga inicial com a caneta, no horizonte 100
+        when(repository.horizonteSincronizacao()).thenReturn(100L);
+        when(repository.streamTodos()).thenReturn(Stream.of(caneta));
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        busca.carregar();
+    }
+
+    @Test
+    void deveAplicarNoIndiceOQueOutraInstanciaGravou() {
+        Produto lapis = new Produto(2L, "Lapis", new BigDecimal("1.00"), "Papelaria", 5);
+        // Duas páginas: o lápis foi criado e a caneta excluída por fora desta instância
+        when(sincronizacao.alteracoesDesde(100L, null, SincronizacaoService.LIMITE_MAXIMO))
+                .thenReturn(new AlteracoesProdutoDTO(null, List.of(lapis), List.of(), "c1"));
+        when(sincronizacao.alteracoesDesde(100L, "c1", SincronizacaoService.LIMITE_MAXIMO))
+                .thenReturn(new AlteracoesProdutoDTO(120L, List.of(), List.of(1L), null));
+        responderFindAllById(Map.of(2L, lapis));
+
+        busca.conferir();
+
+        assertEquals(List.of(), busca.buscar("caneta", 10));
+        assertEquals(List.of(lapis), busca.buscar("lapis", 10));
+
+        // A próxima conferência continua da versão entregue na última página
+        when(sincronizacao.alteracoesDesde(120L, null, SincronizacaoService.LIMITE_MAXIMO))
+                .thenReturn(new AlteracoesProdutoDTO(130L, List.of(), List.of(), null));
+        busca.conferir();
+        verify(sincronizacao).alteracoesDesde(120L, null, SincronizacaoService.LIMITE_MAXIMO);
+    }
+
+    @Test
+    void naoDeveSobrescreverUmaGravacaoLocalFeitaDuranteAConferencia() {
+        Produto canetaAzul = new Produto(1L, "Caneta azul", new BigDecimal("2.00"), "Papelaria", 10);
+        // Enquanto a página era lida, esta instância renomeou a caneta; a página traz a linha de antes
+        when(sincronizacao.alteracoesDesde(eq(100L), isNull(), anyInt())).thenAnswer(inv -> {
+            busca.indexar(canetaAzul);
+            return new AlteracoesProdutoDTO(120L, List.of(caneta), List.of(), null);
+        });
+        responderFindAllById(Map.of(1L, canetaAzul));
+
+        busca.conferir();
+
+        assertEquals(List.of(canetaAzul), busca.buscar("azul", 10));
+    }
+
+    private void responderFindAllById(Map<Long, Produto> produtos) {
+        when(repository.findAllById(anyIterable())).thenAnswer(inv -> {
+            List<Produto> encontrados = new ArrayList<>();
+            inv.<Iterable<Long>>getArgument(0).forEach(id -> {
+                if (produtos.containsKey(id)) {
+                    encontrados.add(produtos.get(id));
+                }
+            });
+            return encontrados;
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.CategoriaResumoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.DashboardResumoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private ProdutoRepository repository;
+
+    @Mock
+    private VersaoCatalogo versaoCatalogo;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @Test
+    void deveManterContadoresAtualizadosSemConsultarOBancoNovamente() {
+        // Banco começa com 1 produto de Eletronicos (10 unidades a 100,00)
+        when(repository.resumirPorCategoria())
+                .thenReturn(List.of(new CategoriaResumoDTO("Eletronicos", 1L, 10L, new BigDecimal("1000.00"), 0L)));
+        dashboardService.reconciliar(); // Carga inicial (o agendamento faz isso ao subir a aplicação)
+
+        // Cria um produto com estoque baixo
+        Produto cabo = new Produto(2L, "Cabo", new BigDecimal("10.00"), "Eletronicos", 3);
+        dashboardService.registrarCriacao(cabo);
+
+        // Move o cabo para outra categoria e aumenta o estoque
+        Produto caboAtualizado = new Produto(2L, "Cabo", new BigDecimal("10.00"), "Acessorios", 8);
+        dashboardService.registrarAtualizacao(cabo, caboAtualizado);
+
+        DashboardResumoDTO resumo = dashboardService.resumo();
+
+        assertEquals(2L, resumo.totalProdutos());
+        assertEquals(18L, resumo.totalUnidades());
+        assertEquals(new BigDecimal("1080.00"), resumo.valorTotal());
+        assertEquals(0L, resumo.estoqueBaixo());
+        assertEquals(List.of("Acessorios", "Eletronicos"),
+                resumo.categorias().stream().map(CategoriaResumoDTO::categoria).toList());
+
+        // Excluir o único produto de uma categoria faz ela sumir
+        dashboardService.registrarExclusao(caboAtualizado);
+        assertEquals(1, dashboardService.contarPorCategoria().size());
+
+        // Só uma ida ao banco: a carga inicial
+        verify(repository, times(1)).resumirPorCategoria();
+    }
+
+    @Test
+    void deveSomarOValorEmEstoqueSemErroDeArredondamento() {
+        when(repository.resumirPorCategoria()).thenReturn(List.of());
+        dashboardService.reconciliar();
+
+        // Em double, 0.1 * 3 + 0.2 * 3 dá 0.9000000000000001
+        dashboardService.registrarCriacao(new Produto(1L, "Bala", new BigDecimal("0.10"), "Doces", 3));
+        dashboardService.registrarCriacao(new Produto(2L, "Chiclete", new BigDecimal("0.20"), "Doces", 3));
+
+        assertEquals(new BigDecimal("0.90"), dashboardService.resumo().valorTotal());
+    }
+
+    @Test
+    void deveCarregarUmaVezSoQuandoVariasLeiturasChegamJuntas() throws Exception {
+        when(repository.resumirPorCategoria()).thenAnswer(invocacao -> {
+            Thread.sleep(50); // Consulta lenta: as outras leituras chegam enquanto ela roda
+            return List.of(new CategoriaResumoDTO("Eletronicos", 1L, 10L, new BigDecimal("1000.00"), 0L));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<DashboardResumoDTO>> leituras = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            leituras.add(executor.submit(dashboardService::resumo));
+        }
+        for (Future<DashboardResumoDTO> leitura : leituras) {
+            assertEquals(1L, leitura.get().totalProdutos());
+        }
+        executor.shutdown();
+
+        verify(repository, times(1)).resumirPorCategoria();
+    }
+
+    @Test
+    void soDeveMudarAVersaoQuandoAConferenciaCorrigeAlgumNumero() {
+        when(repository.resumirPorCategoria())
+                .thenReturn(List.of(new CategoriaResumoDTO("Eletronicos", 1L, 10L, new BigDecimal("1000.00"), 0L)));
+        dashboardService.reconciliar(); // Primeira carga
+        dashboardService.reconciliar(); // Nada mudou: clientes continuam recebendo 304
+        verify(versaoCatalogo, times(1)).registrarCorrecaoDashboard();
+
+        when(repository.resumirPorCategoria())
+                .thenReturn(List.of(new CategoriaResumoDTO("Eletronicos", 2L, 12L, new BigDecimal("1200.00"), 0L)));
+        dashboardService.reconciliar(); // Alguém mexeu direto no banco
+        verify(versaoCatalogo, times(2)).registrarCorrecaoDashboard();
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.EstoqueDepositoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.EstoqueDepositoPaginaDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.EstoqueProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Deposito;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.repository.DepositoRepository;
+import br.com.uniasselvi.projeto.de.extensao.repository.EstoqueDepositoRepository;
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DepositoServiceTest {
+
+    @Mock
+    private DepositoRepository depositoRepository;
+
+    @Mock
+    private EstoqueDepositoRepository estoqueRepository;
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @InjectMocks
+    private DepositoService service;
+
+    private final Deposito filial = new Deposito(2L, "FILIAL-SUL", "Filial Sul");
+
+    @Test
+    void deveRecusarCodigoRepetido() {
+        when(depositoRepository.existsByCodigo("FILIAL-SUL")).thenReturn(true);
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> service.criar(new Deposito(null, "FILIAL-SUL", "Outra filial")));
+
+        assertEquals(409, erro.getStatusCode().value());
+        verify(depositoRepository, never()).save(any());
+    }
+
+    @Test
+    void deveDevolverCursorQuandoODepositoTemMaisProdutos() {
+        when(depositoRepository.findById(2L)).thenReturn(Optional.of(filial));
+        when(estoqueRepository.buscarPagina(2L, 0L, Limit.of(3))).thenReturn(List.of(
+                new EstoqueDepositoDTO(2L, "FILIAL-SUL", 5L, 1),
+                new EstoqueDepositoDTO(2L, "FILIAL-SUL", 8L, 0),
+                new EstoqueDepositoDTO(2L, "FILIAL-SUL", 9L, 4)));
+
+        EstoqueDepositoPaginaDTO pagina = service.listarEstoque(2L, null, 2);
+
+        assertEquals(2, pagina.itens().size());
+        assertEquals(8L, pagina.nextCursor());
+    }
+
+    @Test
+    void produtoQueNuncaPassouPeloDepositoTemZero() {
+        when(depositoRepository.findById(2L)).thenReturn(Optional.of(filial));
+        when(produtoRepository.existsById(1L)).thenReturn(true);
+        when(estoqueRepository.buscar(2L, 1L)).thenReturn(Optional.empty());
+
+        assertEquals(new EstoqueDepositoDTO(2L, "FILIAL-SUL", 1L, 0), service.estoque(2L, 1L));
+    }
+
+    @Test
+    void oTotalVemDoProdutoSemSomarOsDepositos() {
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(
+                new Produto(1L, "Mouse", new BigDecimal("50.00"), "Periféricos", 10)));
+        List<EstoqueDepositoDTO> depositos = List.of(
+                new EstoqueDepositoDTO(1L, "PRINCIPAL", 1L, 4),
+                new EstoqueDepositoDTO(2L, "FILIAL-SUL", 1L, 6));
+        when(estoqueRepository.buscarPorProduto(1L)).thenReturn(depositos);
+
+        assertEquals(new EstoqueProdutoDTO(1L, 10, depositos), service.estoqueDoProduto(1L));
+    }
+}
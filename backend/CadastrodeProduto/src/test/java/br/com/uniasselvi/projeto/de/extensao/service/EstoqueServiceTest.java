@@ -0,0 +1,72 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.MovimentoEstoque;
+import br.com.uniasselvi.projeto.de.extensao.entity.SnapshotEstoque;
+import br.com.uniasselvi.projeto.de.extensao.repository.MovimentoEstoqueRepository;
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import br.com.uniasselvi.projeto.de.extensao.repository.SnapshotEstoqueRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EstoqueServiceTest {
+
+    @Mock
+    private MovimentoEstoqueRepository movimentoRepository;
+
+    @Mock
+    private SnapshotEstoqueRepository snapshotRepository;
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @InjectMocks
+    private EstoqueService service;
+
+    @Test
+    void deveSomarSoOsMovimentosDepoisDoSnapshot() {
+        Instant corte = Instant.parse("2026-03-01T00:00:00Z");
+        Instant consulta = Instant.parse("2026-03-01T00:00:40Z");
+        when(snapshotRepository.findFirstByProdutoIdAndAteLessThanEqualOrderByAteDesc(1L, consulta))
+                .thenReturn(Optional.of(new SnapshotEstoque(1L, corte, 40)));
+        when(movimentoRepository.somarEntre(1L, corte, consulta)).thenReturn(-6L);
+
+        assertEquals(34, service.quantidadeEm(1L, consulta));
+    }
+
+    @Test
+    void deveCompactarAPartirDoUltimoCorte() {
+        Instant ultimoCorte = Instant.parse("2026-03-01T00:00:00Z");
+        when(snapshotRepository.ultimoCorte()).thenReturn(ultimoCorte);
+        when(snapshotRepository.compactar(eq(ultimoCorte), any())).thenReturn(3);
+
+        assertEquals(3, service.compactar());
+        // O novo corte fica para trás do relógio (margem para transações em andamento)
+        verify(snapshotRepository).compactar(eq(ultimoCorte), argThat(ate -> ate.isBefore(Instant.now().minusSeconds(60))));
+    }
+
+    @Test
+    void naoDeveGravarMovimentosSemQuantidade() {
+        service.registrarTodos(List.of(new MovimentoEstoque(1L, MovimentoEstoque.Tipo.AJUSTE, 0)));
+        service.registrar(2L, MovimentoEstoque.Tipo.ENTRADA, 0);
+
+        verify(movimentoRepository, never()).saveAll(anyList());
+        verify(movimentoRepository, never()).save(any());
+    }
+}
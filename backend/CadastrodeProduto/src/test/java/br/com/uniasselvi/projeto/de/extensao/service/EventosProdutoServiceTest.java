@@ -0,0 +1,83 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.EventoProdutoDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventosProdutoServiceTest {
+
+    // Duas threads de envio e prazo de 200 ms por lote
+    private final EventosProdutoService service = new EventosProdutoService(2, 256, Duration.ofMinutes(30),
+            Duration.ofMillis(200), new SimpleMeterRegistry());
+
+    @AfterEach
+    void parar() {
+        service.parar();
+    }
+
+    @Test
+    void clientesTravadosNaoSeguramOsOutros() throws Exception {
+        CountDownLatch travaram = new CountDownLatch(2);
+        CountDownLatch recebeu = new CountDownLatch(1);
+        service.assinar(new EmitterTravado(travaram));
+        service.assinar(new EmitterTravado(travaram));
+        service.publicar(EventoProdutoDTO.excluido(1L));
+        assertTrue(travaram.await(5, TimeUnit.SECONDS)); // Os dois travados ocupam as duas threads
+
+        service.assinar(new SseEmitter() {
+            private boolean conectado;
+
+            @Override
+            public void send(SseEventBuilder builder) {
+                if (conectado) {
+                    recebeu.countDown();
+                }
+                conectado = true;
+            }
+        });
+        service.publicar(EventoProdutoDTO.excluido(2L));
+        assertFalse(recebeu.await(300, TimeUnit.MILLISECONDS)); // O cliente que lê fica esperando
+
+        service.vigiarEnvios(); // Já passou do prazo: os dois saem e as threads voltam
+
+        assertTrue(recebeu.await(5, TimeUnit.SECONDS));
+        assertEquals(1, service.getAssinantes());
+    }
+
+    // Aceita o "conectado" e depois fica parado na escrita, como um cliente com a janela TCP cheia
+    private static final class EmitterTravado extends SseEmitter {
+
+        private final CountDownLatch travaram;
+        private boolean conectado;
+
+        EmitterTravado(CountDownLatch travaram) {
+            this.travaram = travaram;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (!conectado) {
+                conectado = true;
+                return;
+            }
+            travaram.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException("escrita interrompida");
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HashSenhaServiceTest {
+
+    private final HashSenhaService service = new HashSenhaService(1, new SimpleMeterRegistry());
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+    }
+
+    @Test
+    void deveRecusarCom429QuandoAFilaEstaCheia() throws Exception {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+
+        // Ocupa todas as threads e a única vaga da fila
+        for (int i = 0; i < nucleos + 1; i++) {
+            service.executar(() -> {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            });
+        }
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> service.executar(() -> "hash"));
+        assertEquals(429, erro.getStatusCode().value());
+
+        liberar.countDown();
+        assertEquals("hash", waitFor(() -> service.executar(() -> "hash")));
+    }
+
+    // Depois de liberar, a fila esvazia e a próxima tarefa volta a ser aceita
+    private static String waitFor(Supplier<CompletableFuture<String>> tentativa) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            try {
+                return tentativa.get().get();
+            } catch (ResponseStatusException e) {
+                Thread.sleep(10);
+            }
+        }
+        throw new AssertionError("A fila não esvaziou");
+    }
+}
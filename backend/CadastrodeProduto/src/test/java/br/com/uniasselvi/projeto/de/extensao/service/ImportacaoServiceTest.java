@@ -0,0 +1,94 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.ImportacaoStatusDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ItemLoteDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ResultadoLoteDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoServiceTest {
+
+    @Mock
+    private ProdutoService produtoService;
+
+    @InjectMocks
+    private ImportacaoService importacaoService;
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void deveImportarCsvEGerarRelatorioDeRejeitados() throws Exception {
+        // Planilha do Excel em português: separador ';', vírgula decimal e campo com quebra de linha
+        Path entrada = pasta.resolve("entrada.csv");
+        Files.writeString(entrada, """
+                nome;categoria;preco;quantidade
+                Teclado;Eletronicos;1.234,50;10
+                "Mouse; sem fio
+                (preto)";Eletronicos;99,90;3
+                Monitor;Eletronicos;caro;1
+                Cabo;Acessorios;10;2
+                """, StandardCharsets.UTF_8);
+
+        // O service recusa o Cabo (nome repetido) e aceita os outros
+        when(produtoService.criarLote(anyList())).thenReturn(new ResultadoLoteDTO(2, 1, List.of(
+                new ItemLoteDTO(0, 1L, 201, null),
+                new ItemLoteDTO(1, 2L, 201, null),
+                new ItemLoteDTO(2, null, 409, "Produto já cadastrado"))));
+
+        ImportacaoService.Importacao importacao = new ImportacaoService.Importacao("job-1", "entrada.csv",
+                entrada, pasta.resolve("rejeitados.csv"));
+        importacaoService.processar(importacao);
+
+        ImportacaoStatusDTO status = importacao.status();
+        assertEquals("CONCLUIDA", status.situacao());
+        assertEquals(4, status.linhasLidas());
+        assertEquals(2, status.importadas());
+        assertEquals(2, status.rejeitadas());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Produto>> bloco = ArgumentCaptor.forClass(List.class);
+        verify(produtoService).criarLote(bloco.capture());
+        assertEquals(new BigDecimal("1234.50"), bloco.getValue().get(0).getPreco());
+        assertEquals("Mouse; sem fio\n(preto)", bloco.getValue().get(1).getNome());
+
+        // Linhas do arquivo: o Monitor está na 5 (o mouse ocupa 3 e 4) e o Cabo na 6
+        assertEquals("""
+                linha,motivo
+                5,Preço inválido: caro
+                6,Produto já cadastrado
+                """, Files.readString(pasta.resolve("rejeitados.csv")));
+        assertFalse(Files.exists(entrada)); // O upload temporário é apagado no final
+    }
+
+    @Test
+    void deveFalharQuandoFaltamColunas() throws Exception {
+        Path entrada = pasta.resolve("entrada.csv");
+        Files.writeString(entrada, "nome,preco\nTeclado,10\n", StandardCharsets.UTF_8);
+
+        ImportacaoService.Importacao importacao = new ImportacaoService.Importacao("job-2", "entrada.csv",
+                entrada, pasta.resolve("rejeitados.csv"));
+        importacaoService.processar(importacao);
+
+        assertEquals("FALHOU", importacao.status().situacao());
+        assertEquals("Cabeçalho sem as colunas: categoria, quantidade", importacao.status().erro());
+        verifyNoInteractions(produtoService);
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndiceBuscaTest {
+
+    private final IndiceBusca indice = new IndiceBusca();
+
+    @Test
+    void deveIgnorarAcentosEMaiusculas() {
+        assertArrayEquals(new String[]{"pao", "de", "acucar", "1kg"}, IndiceBusca.palavras("Pão de AÇÚCAR - 1kg"));
+
+        indice.indexar(1L, "Pão de Açúcar", "Alimentos");
+        indice.indexar(2L, "Café Torrado", "Alimentos");
+
+        assertEquals(List.of(1L), indice.buscar("acucar", 10));
+        assertEquals(List.of(1L), indice.buscar("PÃO açu", 10));  // Todas as palavras, inteiras ou pelo começo
+        assertEquals(List.of(2L), indice.buscar("cafe alim", 10)); // Nome + categoria
+        assertEquals(List.of(), indice.buscar("cafe pao", 10));
+    }
+
+    @Test
+    void deveOrdenarPorRelevancia() {
+        indice.indexar(1L, "Cabo USB Mouse", "Acessorios");      // Palavra inteira, mas no meio do nome
+        indice.indexar(2L, "Mousepad Gamer", "Acessorios");      // Só o começo de uma palavra
+        indice.indexar(3L, "Mouse Gamer RGB", "Perifericos");    // Palavra inteira no início do nome
+        indice.indexar(4L, "Mouse", "Perifericos");              // Igual ao 3, nome mais curto
+        indice.indexar(5L, "Teclado", "Mouses e Teclados");      // Só na categoria
+
+        assertEquals(List.of(4L, 3L, 1L, 2L, 5L), indice.buscar("mouse", 10));
+        assertEquals(List.of(4L, 3L), indice.buscar("mouse", 2));
+    }
+
+    @Test
+    void deveAtualizarERemoverSemReconstruir() {
+        indice.indexar(1L, "Teclado Mecânico", "Perifericos");
+        indice.indexar(1L, "Teclado Óptico", "Perifericos"); // Renomeado
+
+        assertEquals(List.of(), indice.buscar("mecanico", 10));
+        assertEquals(List.of(1L), indice.buscar("optico", 10));
+
+        indice.remover(1L);
+        assertEquals(List.of(), indice.buscar("teclado", 10));
+        assertEquals(0, indice.tamanho());
+    }
+
+    @Test
+    void deveAcharResultadosAlemDoTetoDeCandidatos() {
+        // "mouse" e "gamer" casam cada um com mais produtos que o teto, e os que têm os dois vêm depois
+        int comuns = IndiceBusca.LIMITE_CANDIDATOS + 500;
+        for (long id = 1; id <= comuns; id++) {
+            indice.indexar(id, "Mouse Sem Fio " + id, "Perifericos");
+            indice.indexar(10_000 + id, "Headset " + id, "Gamer");
+        }
+        indice.indexar(20_001L, "Mouse Gamer RGB", "Perifericos");
+        indice.indexar(20_002L, "Mouse Gamer", "Perifericos");
+        indice.indexar(20_003L, "Mouse Óptico", "Gamer");
+
+        assertEquals(List.of(20_002L, 20_001L, 20_003L), indice.buscar("mouse gamer", 10));
+        assertEquals(List.of(20_002L, 20_001L, 20_003L), indice.buscar("gam mou", 10));
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.EventoProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.EventoOutbox;
+import br.com.uniasselvi.projeto.de.extensao.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    private static final Instant AGORA = Instant.parse("2026-01-10T12:00:00Z");
+
+    @Mock
+    private EventoOutboxRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final List<EventoOutbox> recebidos = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private void executarTransacoes() {
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    @Test
+    void deveEntregarNaOrdemEApagarOsEventosEntregues() {
+        List<EventoOutbox> lote = List.of(
+                evento(1L, 7L, EventoProdutoDTO.Tipo.CRIADO, AGORA.minusMillis(300)),
+                evento(2L, 8L, EventoProdutoDTO.Tipo.CRIADO, AGORA.minusMillis(200)),
+                evento(3L, 7L, EventoProdutoDTO.Tipo.ALTERADO, AGORA.minusMillis(100)));
+        when(repository.travarProximos(anyInt())).thenReturn(lote);
+        executarTransacoes();
+
+        OutboxService outbox = outbox(recebidos::addAll);
+
+        assertEquals(3, outbox.despacharLote());
+        assertEquals(List.of(1L, 2L, 3L), recebidos.stream().map(EventoOutbox::getId).toList());
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        assertEquals(3.0, meterRegistry.get("outbox.entregas").tag("resultado", "sucesso").counter().count());
+        // Atraso entre a gravação e a entrega
+        assertEquals(300.0, meterRegistry.get("outbox.entrega.atraso").timer()
+                .max(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void deveAdiarOLoteQuandoUmDestinoFalha() {
+        EventoOutbox jaFalhou = evento(1L, 7L, EventoProdutoDTO.Tipo.ESTOQUE, AGORA);
+        when(repository.travarProximos(anyInt())).thenReturn(List.of(jaFalhou));
+        executarTransacoes();
+
+        OutboxService outbox = outbox(eventos -> {
+            throw new IOException("ERP fora do ar");
+        });
+
+        assertEquals(0, outbox.despacharLote());
+        verify(repository).adiar(List.of(1L), OutboxService.ESPERA_INICIAL_MS);
+        verify(repository, never()).deleteAllByIdInBatch(any());
+        assertEquals(1.0, meterRegistry.get("outbox.entregas").tag("resultado", "falha").counter().count());
+    }
+
+    @Test
+    void naoDeveAbrirTransacaoComAFilaVazia() {
+        when(repository.existeDisponivel()).thenReturn(false);
+
+        outbox(recebidos::addAll).despachar();
+
+        verify(repository, never()).travarProximos(anyInt());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void naoDeveAbrirTransacaoSoComEventosAdiados() {
+        // Dois eventos na fila, os dois esperando nova tentativa: nenhum está disponível
+        when(repository.existeDisponivel()).thenReturn(false);
+        when(repository.pendencias()).thenReturn(List.<Object[]>of(new Object[]{2L, 60_000L}));
+        OutboxService outbox = outbox(recebidos::addAll);
+
+        outbox.despachar();
+        outbox.despachar();
+
+        verify(transactionTemplate, never()).execute(any());
+        verify(repository, never()).pendencias(); // A contagem não roda a cada rodada do despachante
+
+        outbox.atualizarPendencias();
+        assertEquals(2.0, meterRegistry.get("outbox.pendentes").gauge().value());
+        assertEquals(60_000.0, meterRegistry.get("outbox.atraso").gauge().value());
+    }
+
+    @Test
+    void deveEsvaziarAFilaEnquantoOsLotesVemCheios() {
+        when(repository.existeDisponivel()).thenReturn(true);
+        when(repository.travarProximos(anyInt())).thenReturn(List.of(evento(1L, 7L, EventoProdutoDTO.Tipo.CRIADO, AGORA)));
+        executarTransacoes();
+
+        outbox(recebidos::addAll).despachar();
+
+        // Lote com 1 de 200: a fila acabou, a rodada termina
+        verify(repository).travarProximos(200);
+        assertEquals(1, recebidos.size());
+    }
+
+    @Test
+    void deveDobrarAEsperaACadaTentativaAteOMaximo() {
+        assertEquals(1_000, OutboxService.espera(List.of(comTentativas(0))));
+        assertEquals(8_000, OutboxService.espera(List.of(comTentativas(1), comTentativas(3))));
+        assertEquals(OutboxService.ESPERA_MAXIMA_MS, OutboxService.espera(List.of(comTentativas(40))));
+    }
+
+    private interface Entrega {
+        void entregar(List<EventoOutbox> eventos) throws Exception;
+    }
+
+    private OutboxService outbox(Entrega entrega) {
+        DestinoOutbox nomeado = new DestinoOutbox() {
+            @Override
+            public String nome() {
+                return "teste";
+            }
+
+            @Override
+            public void entregar(List<EventoOutbox> eventos) throws Exception {
+                entrega.entregar(eventos);
+            }
+        };
+        return new OutboxService(repository, List.of(nomeado), transactionTemplate, meterRegistry, 200,
+                Clock.fixed(AGORA, ZoneOffset.UTC));
+    }
+
+    private static EventoOutbox evento(Long id, Long produtoId, EventoProdutoDTO.Tipo tipo, Instant criadoEm) {
+        return new EventoOutbox(id, produtoId, tipo, null, "{\"id\":" + produtoId + "}", criadoEm);
+    }
+
+    private static EventoOutbox comTentativas(int tentativas) {
+        EventoOutbox evento = mock(EventoOutbox.class);
+        when(evento.getTentativas()).thenReturn(tentativas);
+        return evento;
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import br.com.uniasselvi.projeto.de.extensao.service.ProdutoExportService.FormatoExportacao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProdutoExportServiceTest {
+
+    @Mock
+    private ProdutoRepository repository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ProdutoExportService exportService;
+
+    @Test
+    void deveExportarCsvEscapandoCamposEDesanexandoEntidades() throws Exception {
+        Produto mouse = new Produto(1L, "Mouse, sem fio", new BigDecimal("50.00"), "Eletronicos", 3);
+        Produto cabo = new Produto(2L, "Cabo 2\"", new BigDecimal("10.00"), "Acessorios", 7);
+        when(repository.streamTodos()).thenReturn(Stream.of(mouse, cabo));
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportService.exportar(FormatoExportacao.CSV, saida);
+
+        assertEquals("""
+                id,nome,preco,categoria,quantidade
+                1,"Mouse, sem fio",50.00,Eletronicos,3
+                2,"Cabo 2""\",10.00,Acessorios,7
+                """, saida.toString(StandardCharsets.UTF_8));
+        verify(entityManager).detach(mouse);
+        verify(entityManager).detach(cabo);
+    }
+
+    @Test
+    void deveExportarUmJsonPorLinha() throws Exception {
+        when(repository.streamTodos()).thenReturn(Stream.of(new Produto(1L, "Mouse", new BigDecimal("50.00"), "Eletronicos", 3)));
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportService.exportar(FormatoExportacao.NDJSON, saida);
+
+        assertEquals("{\"id\":1,\"nome\":\"Mouse\",\"preco\":50.00,\"categoria\":\"Eletronicos\",\"quantidade\":3,\"versao\":null}\n",
+                saida.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -2,15 +2,40 @@ package br.com.uniasselvi.projeto.de.extensao.service;
 
 
 
+import br.com.uniasselvi.projeto.de.extensao.dto.EventoProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ItemLoteDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ProdutoFiltroDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ProdutoPaginaDTO;
+import br.com.uniasselvi.projeto.de.extensao.dto.ResultadoLoteDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Deposito;
+import br.com.uniasselvi.projeto.de.extensao.entity.EstoqueDeposito;
+import br.com.uniasselvi.projeto.de.extensao.entity.MovimentoEstoque;
 import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.repository.DepositoRepository;
+import br.com.uniasselvi.projeto.de.extensao.repository.EstoqueDepositoRepository;
 import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -20,6 +45,36 @@ class ProdutoServiceTest {
     @Mock
     private ProdutoRepository repository;
 
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private EstoqueService estoqueService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private EventosProdutoService eventos;
+
+    @Mock
+    private BuscaProdutoService busca;
+
+    @Mock
+    private OutboxService outbox;
+
+    @Mock
+    private DepositoRepository depositoRepository;
+
+    @Mock
+    private EstoqueDepositoRepository estoqueDeposito;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private ProdutoService service;
 
@@ -30,13 +85,25 @@ class ProdutoServiceTest {
         Produto produto = new Produto();
         produto.setQuantidade(2);
         produto.setNome("Mouse Gamer");
-        produto.setPreco(100.0);
+        produto.setPreco(new BigDecimal("100.00"));
+        // Id e versão vindos no corpo não podem transformar o cadastro numa atualização
+        produto.setId(9L);
+        produto.setVersao(4L);
 
         when(repository.existsByNome("Mouse Gamer")).thenReturn(false);
-        when(repository.save(produto)).thenReturn(produto);
+        executarTransacoes();
+        Produto salvo = new Produto(10L, "Mouse Gamer", new BigDecimal("100.00"), null, 2);
+        when(repository.save(produto)).thenReturn(salvo);
         Produto resultado = service.criar(produto);
         assertNotNull(resultado);
         verify(repository).save(produto);
+        assertNull(produto.getId());
+        assertNull(produto.getVersao());
+        verify(estoqueService).registrar(10L, MovimentoEstoque.Tipo.ENTRADA, 2);
+        verify(outbox).registrar(EventoProdutoDTO.Tipo.CRIADO, List.of(10L)); // Na mesma transação
+        verify(estoqueDeposito).inserirIniciais(Deposito.PRINCIPAL, List.of(10L));
+        verify(dashboardService).registrarCriacao(salvo);
+        verify(busca).indexar(salvo);
     }
     @Test
     void naoDeveCriarProdutoComNomeDuplicado() {
@@ -50,5 +117,225 @@ class ProdutoServiceTest {
         });
 
         verify(repository, never()).save(any());
+        verifyNoInteractions(dashboardService);
+    }
+
+    @Test
+    void deveDevolverConflitoQuandoOIndiceUnicoRecusaONome() {
+        // Outro cadastro com o mesmo nome entrou entre o existsByNome e o INSERT
+        Produto produto = new Produto(null, "Mouse Gamer", new BigDecimal("100.00"), "Eletronicos", 2);
+        when(repository.existsByNome("Mouse Gamer")).thenReturn(false);
+        executarTransacoes();
+        when(repository.save(produto)).thenThrow(new DataIntegrityViolationException("ux_produto_nome"));
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class, () -> service.criar(produto));
+
+        assertEquals(409, erro.getStatusCode().value());
+        verifyNoInteractions(dashboardService);
+    }
+
+    @Test
+    void deveDevolverCursorQuandoExisteProximaPagina() {
+        ProdutoFiltroDTO semFiltro = new ProdutoFiltroDTO(null, null, null, null, null, null);
+        List<Produto> doBanco = List.of(
+                new Produto(1L, "A", new BigDecimal("1.00"), "X", 1),
+                new Produto(2L, "B", new BigDecimal("1.00"), "X", 1),
+                new Produto(3L, "C", new BigDecimal("1.00"), "X", 1));
+
+        // Pedimos 2, o service busca 3 (um a mais) para saber se tem continuação
+        when(repository.buscarPagina(0L, null, null, null, null, null, null, Limit.of(3))).thenReturn(doBanco);
+
+        ProdutoPaginaDTO pagina = service.listarPagina(null, 2, semFiltro);
+
+        assertEquals(2, pagina.itens().size());
+        assertEquals(2L, pagina.nextCursor());
+    }
+
+    @Test
+    void naoDeveDevolverCursorNaUltimaPagina() {
+        ProdutoFiltroDTO filtro = new ProdutoFiltroDTO("Mou", " ", null, null, null, null);
+
+        when(repository.buscarPagina(10L, "Mou", null, null, null, null, null, Limit.of(3)))
+                .thenReturn(List.of(new Produto(11L, "Mouse", new BigDecimal("1.00"), "X", 1)));
+
+        ProdutoPaginaDTO pagina = service.listarPagina(10L, 2, filtro);
+
+        assertEquals(1, pagina.itens().size());
+        assertNull(pagina.nextCursor());
+    }
+
+    @Test
+    void deveCriarLoteInformandoResultadoDeCadaItem() {
+        Produto valido = new Produto(null, "Teclado", new BigDecimal("150.00"), "Eletronicos", 10);
+        valido.setVersao(4L);
+        Produto semPreco = new Produto(null, "Monitor", null, "Eletronicos", 1);
+        Produto jaNoBanco = new Produto(null, "Mouse Gamer", new BigDecimal("100.00"), "Eletronicos", 2);
+        Produto repetidoNoLote = new Produto(null, "Teclado", new BigDecimal("150.00"), "Eletronicos", 3);
+
+        // Uma consulta só para todos os nomes do lote
+        when(repository.findByNomeIn(anyCollection())).thenReturn(List.of(new Produto(9L, "Mouse Gamer", new BigDecimal("100.00"), "Eletronicos", 2)));
+        doAnswer(invocacao -> {
+            Consumer<TransactionStatus> acao = invocacao.getArgument(0);
+            acao.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(repository.saveAll(anyCollection())).thenAnswer(invocacao -> {
+            assertNull(valido.getVersao());
+            valido.setId(1L);
+            return List.of(valido);
+        });
+
+        ResultadoLoteDTO resultado = service.criarLote(List.of(valido, semPreco, jaNoBanco, repetidoNoLote));
+
+        assertEquals(1, resultado.sucesso());
+        assertEquals(3, resultado.falhas());
+        assertEquals(List.of(201, 400, 409, 409), resultado.itens().stream().map(ItemLoteDTO::status).toList());
+        assertEquals(1L, resultado.itens().get(0).id());
+        assertEquals("O preço é obrigatório", resultado.itens().get(1).mensagem());
+        verify(repository, times(1)).findByNomeIn(anyCollection());
+        verify(dashboardService).registrarCriacao(valido);
+    }
+
+    @Test
+    void naoDeveAceitarLoteVazio() {
+        assertThrows(ResponseStatusException.class, () -> service.criarLote(List.of()));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void naoDeveAtualizarComVersaoDesatualizada() {
+        Produto existente = new Produto(1L, "Mouse", new BigDecimal("50.00"), "Periféricos", 3);
+        existente.setVersao(4L);
+        Produto enviado = new Produto(1L, "Mouse sem fio", new BigDecimal("80.00"), "Periféricos", 3);
+        enviado.setVersao(3L);
+
+        when(repository.findById(1L)).thenReturn(Optional.of(existente));
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> service.atualizar(1L, enviado));
+        assertEquals(409, erro.getStatusCode().value());
+        assertEquals("Mouse", existente.getNome());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void deveRecusarSaidaMaiorQueOEstoque() {
+        executarTransacoes();
+        when(repository.ajustarEstoque(1L, -10)).thenReturn(Optional.empty());
+        when(repository.existsById(1L)).thenReturn(true);
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> service.ajustarEstoque(1L, -10));
+        assertEquals(409, erro.getStatusCode().value());
+        verifyNoInteractions(dashboardService);
+    }
+
+    @Test
+    void deveDevolver404AoAjustarProdutoInexistente() {
+        executarTransacoes();
+        when(repository.ajustarEstoque(99L, 5)).thenReturn(Optional.empty());
+        when(repository.existsById(99L)).thenReturn(false);
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> service.ajustarEstoque(99L, 5));
+        assertEquals(404, erro.getStatusCode().value());
+    }
+
+    @Test
+    void deveRegistrarSaidaNoHistoricoAoAjustarEstoque() {
+        executarTransacoes();
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(org.hibernate.Cache.class)).thenReturn(mock(org.hibernate.Cache.class));
+        // O UPDATE devolve a linha já ajustada (RETURNING)
+        when(repository.ajustarEstoque(1L, -3)).thenReturn(Optional.of(new Produto(1L, "Mouse", new BigDecimal("50.00"), "Periféricos", 7)));
+        when(estoqueDeposito.saida(Deposito.PRINCIPAL, 1L, 3)).thenReturn(1);
+
+        Produto depois = service.ajustarEstoque(1L, -3);
+
+        assertEquals(7, depois.getQuantidade());
+        verify(estoqueService).registrar(1L, MovimentoEstoque.Tipo.SAIDA, -3);
+        verify(outbox).registrarEstoque(1L, Deposito.PRINCIPAL, -3);
+        verify(cache).evict(Produto.class, 1L);
+        verify(repository, never()).findById(1L); // Nada de reler depois do commit
+        verify(dashboardService).registrarAtualizacao(argThat(antes -> antes.getQuantidade() == 10), eq(depois));
+        verify(eventos).publicar(EventoProdutoDTO.estoque(depois, Deposito.PRINCIPAL, -3)); // Telas abertas recebem o ajuste
+    }
+
+    @Test
+    void deveLevarODepositoNoOutboxENoEventoDoAjuste() {
+        executarTransacoes();
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(org.hibernate.Cache.class)).thenReturn(mock(org.hibernate.Cache.class));
+        when(depositoRepository.existsById(2L)).thenReturn(true);
+        when(repository.ajustarEstoque(1L, 4)).thenReturn(Optional.of(new Produto(1L, "Mouse", new BigDecimal("50.00"), "Periféricos", 14)));
+        when(estoqueDeposito.entrada(2L, 1L, 4)).thenReturn(1);
+
+        Produto depois = service.ajustarEstoque(2L, 1L, 4);
+
+        // ERP/BI (outbox) e telas abertas (SSE) sabem em qual depósito o estoque entrou
+        verify(outbox).registrarEstoque(1L, 2L, 4);
+        verify(eventos).publicar(EventoProdutoDTO.estoque(depois, 2L, 4));
+    }
+
+    @Test
+    void deveVoltarOTotalQuandoODepositoNaoTemOSuficiente() {
+        // O produto tem 10 no total, mas o depósito 2 não tem 5
+        TransactionStatus status = mock(TransactionStatus.class);
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(status));
+        when(depositoRepository.existsById(2L)).thenReturn(true);
+        when(repository.ajustarEstoque(1L, -5)).thenReturn(Optional.of(new Produto(1L, "Mouse", new BigDecimal("50.00"), "Periféricos", 5)));
+        when(estoqueDeposito.saida(2L, 1L, 5)).thenReturn(0);
+        when(repository.existsById(1L)).thenReturn(true);
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> service.ajustarEstoque(2L, 1L, -5));
+
+        assertEquals(409, erro.getStatusCode().value());
+        verify(status).setRollbackOnly(); // O UPDATE do total não fica
+        verifyNoInteractions(estoqueService, outbox, dashboardService);
+    }
+
+    @Test
+    void deveDevolver404AoAjustarEmDepositoInexistente() {
+        when(depositoRepository.existsById(7L)).thenReturn(false);
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> service.ajustarEstoque(7L, 1L, 5));
+
+        assertEquals(404, erro.getStatusCode().value());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void naoDeveBaixarNoLoteMaisDoQueODepositoPrincipalTem() {
+        // 10 no total: 4 no principal e 6 em outro depósito
+        Produto existente = new Produto(1L, "Mouse", new BigDecimal("50.00"), "Periféricos", 10);
+        Produto outro = new Produto(2L, "Teclado", new BigDecimal("90.00"), "Periféricos", 5);
+        doAnswer(invocacao -> {
+            Consumer<TransactionStatus> acao = invocacao.getArgument(0);
+            acao.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(existente, outro));
+        when(estoqueDeposito.buscarNoDeposito(eq(Deposito.PRINCIPAL), anyCollection()))
+                .thenReturn(List.of(new EstoqueDeposito(Deposito.PRINCIPAL, 1L, 4), new EstoqueDeposito(Deposito.PRINCIPAL, 2L, 5)));
+        when(estoqueDeposito.saida(Deposito.PRINCIPAL, 2L, 2)).thenReturn(1);
+
+        ResultadoLoteDTO resultado = service.atualizarLote(List.of(
+                new Produto(1L, "Mouse", new BigDecimal("50.00"), "Periféricos", 3),
+                new Produto(2L, "Teclado", new BigDecimal("90.00"), "Periféricos", 3)));
+
+        assertEquals(List.of(409, 200), resultado.itens().stream().map(ItemLoteDTO::status).toList());
+        assertEquals(10, existente.getQuantidade());
+        verify(estoqueDeposito, never()).saida(Deposito.PRINCIPAL, 1L, 7);
+    }
+
+    // Faz o TransactionTemplate mockado rodar o bloco, como o de verdade faria
+    private void executarTransacoes() {
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
     }
 }
@@ -0,0 +1,108 @@
+package br.com.uniasselvi.projeto.de.extensao.service;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.AlteracoesProdutoDTO;
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.repository.ProdutoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SincronizacaoServiceTest {
+
+    @Mock
+    private ProdutoRepository repository;
+
+    @InjectMocks
+    private SincronizacaoService service;
+
+    @Test
+    void deveDevolverAlteradosExcluidosEOHorizonteComoProximaVersao() {
+        Produto mouse = new Produto(1L, "Mouse", new BigDecimal("10.00"), "Eletronicos", 3);
+        when(repository.horizonteSincronizacao()).thenReturn(900L);
+        when(repository.buscarAlteradosDepois(750L, 0L, 501)).thenReturn(List.of(mouse));
+        when(repository.buscarExcluidosDepois(750L, 0L, 501)).thenReturn(List.of(7L));
+
+        AlteracoesProdutoDTO alteracoes = service.alteracoesDesde(750L, null, 500);
+
+        // Cabe numa página só: já vem a versão, sem cursor
+        assertEquals(900L, alteracoes.versao());
+        assertNull(alteracoes.cursor());
+        assertEquals(List.of(mouse), alteracoes.alterados());
+        assertEquals(List.of(7L), alteracoes.excluidos());
+    }
+
+    @Test
+    void deveEntregarOHorizonteDaPrimeiraPaginaSoNaUltima() {
+        Produto mouse = new Produto(1L, "Mouse", new BigDecimal("10.00"), "Eletronicos", 3);
+        Produto teclado = new Produto(2L, "Teclado", new BigDecimal("90.00"), "Eletronicos", 5);
+        Produto monitor = new Produto(3L, "Monitor", new BigDecimal("900.00"), "Eletronicos", 1);
+        when(repository.horizonteSincronizacao()).thenReturn(900L);
+        when(repository.buscarAlteradosDepois(750L, 0L, 3)).thenReturn(List.of(mouse, teclado, monitor));
+        when(repository.transacaoDaAlteracao(2L)).thenReturn(800L);
+        when(repository.buscarExcluidosDepois(750L, 0L, 3)).thenReturn(List.of(7L));
+
+        AlteracoesProdutoDTO primeira = service.alteracoesDesde(750L, null, 2);
+
+        assertNull(primeira.versao()); // Ainda não: falta página
+        assertNotNull(primeira.cursor());
+        assertEquals(List.of(mouse, teclado), primeira.alterados());
+        assertEquals(List.of(7L), primeira.excluidos());
+
+        // A segunda continua depois do teclado (transação 800, id 2); as exclusões já tinham acabado
+        when(repository.buscarAlteradosDepois(800L, 2L, 3)).thenReturn(List.of(monitor));
+        AlteracoesProdutoDTO segunda = service.alteracoesDesde(750L, primeira.cursor(), 2);
+
+        assertEquals(900L, segunda.versao()); // O horizonte da primeira página, mesmo que o atual já seja outro
+        assertNull(segunda.cursor());
+        assertEquals(List.of(monitor), segunda.alterados());
+        assertEquals(List.of(), segunda.excluidos());
+        verify(repository, times(1)).horizonteSincronizacao();
+        verify(repository, times(1)).buscarExcluidosDepois(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void primeiraSincronizacaoNaoPrecisaDasLapides() {
+        when(repository.horizonteSincronizacao()).thenReturn(900L);
+        when(repository.buscarAlteradosDepois(0L, 0L, 501)).thenReturn(List.of());
+
+        // Quem não tem nada ainda recebe o catálogo inteiro; exclusões antigas não interessam
+        assertEquals(List.of(), service.alteracoesDesde(0L, null, 500).excluidos());
+        verify(repository, never()).buscarExcluidosDepois(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void naoDeveAceitarVersaoNegativa() {
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> service.alteracoesDesde(-1L, null, 500));
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void naoDeveAceitarCursorInvalido() {
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> service.alteracoesDesde(750L, "abc", 500));
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.uniasselvi.projeto.de.extensao.benchmark;
+
+import br.com.uniasselvi.projeto.de.extensao.ProjetoDeExtensaoApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// A aplicação inteira de pé (sem servidor web) sobre um H2 em memória, para os benchmarks que passam pelo banco.
+// Serve para comparar versões do código; o número absoluto não é o do Postgres de produção.
+final class AplicacaoH2 {
+
+    private AplicacaoH2() {
+    }
+
+    static ConfigurableApplicationContext subir(String banco) {
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ProjetoDeExtensaoApplication.class)
+                .web(WebApplicationType.NONE)
+                // Argumentos de linha de comando têm prioridade sobre o application.properties da aplicação
+                .run("--spring.datasource.url=jdbc:h2:mem:" + banco + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                                + "DEFAULT_NULL_ORDERING=HIGH;IGNORE_UNKNOWN_SETTINGS=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        // As migrações usam recursos do Postgres; no H2 o Hibernate cria as tabelas
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        // Tarefas agendadas fora do caminho medido
+                        "--estoque.dashboard.reconciliacao-ms=3600000",
+                        "--busca.reconciliacao-ms=3600000",
+                        "--estoque.movimentos.compactacao-ms=3600000",
+                        "--outbox.intervalo-ms=3600000",
+                        "--outbox.metricas-ms=3600000",
+                        "--logging.level.root=WARN");
+        // Índices das consultas medidas (V2__indices_produto.sql). Sem o do nome o existsByNome varre a tabela
+        // inteira; o da categoria é o que a agregação do dashboard lê (o H2 não tem INCLUDE, as colunas vão na chave)
+        JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+        jdbc.execute("CREATE UNIQUE INDEX ux_produto_nome ON produto (nome)");
+        jdbc.execute("CREATE INDEX ix_produto_categoria_resumo ON produto (categoria, quantidade, preco)");
+        return contexto;
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.uniasselvi.projeto.de.extensao.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Ponto de entrada: aceita as mesmas opções do JMH (-f, -wi, -i, filtro por nome...),
+// mas por padrão grava o resultado em JSON para comparar com rodadas anteriores
+public class Benchmarks {
+
+    static final String RESULTADO_PADRAO = "jmh-resultado.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+        ChainedOptionsBuilder opcoes = new OptionsBuilder().parent(linhaDeComando);
+
+        if (!linhaDeComando.getResultFormat().hasValue()) {
+            opcoes.resultFormat(ResultFormatType.JSON);
+        }
+        if (!linhaDeComando.getResult().hasValue()) {
+            opcoes.result(RESULTADO_PADRAO);
+        }
+        new Runner(opcoes.build()).run();
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.uniasselvi.projeto.de.extensao.benchmark;
+
+import br.com.uniasselvi.projeto.de.extensao.service.IndiceBusca;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// GET /produtos/search sem o banco: só o índice em memória, com um catálogo sintético de 1 milhão de produtos
+// ("Mouse Sem Fio Logitech Preto 4821"...). Uma consulta com a palavra inteira + modelo, uma palavra comum
+// (milhares de resultados) e um prefixo curto (o pior caso: muitas listas, das quais só entram os primeiros
+// IndiceBusca.LIMITE_CANDIDATOS ids de cada uma).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BuscaBenchmark {
+
+    private static final String[] TIPOS = {"Mouse", "Teclado", "Monitor", "Cabo", "Fone", "Caderno", "Café",
+            "Açúcar", "Pão", "Feijão", "Sabão", "Detergente", "Cadeira", "Mesa", "Lâmpada", "Chave", "Martelo",
+            "Boneca", "Carrinho", "Caneta"};
+    private static final String[] DETALHES = {"Sem Fio", "Gamer", "Mecânico", "USB", "HDMI", "Orgânico", "Integral",
+            "Líquido", "em Pó", "Escritório", "Portátil", "Reforçado", "Infantil", "Premium", "Econômico"};
+    private static final String[] MARCAS = {"Logitech", "Multilaser", "Tilibra", "Pilão", "União", "Ypê", "Tramontina",
+            "Estrela", "Bic", "Philips", "Samsung", "Intelbras"};
+    private static final String[] CORES = {"Preto", "Branco", "Azul", "Vermelho", "Verde", "Cinza"};
+    private static final String[] CATEGORIAS = {"Eletrônicos", "Informática", "Papelaria", "Alimentos",
+            "Limpeza", "Móveis", "Ferramentas", "Brinquedos"};
+
+    @Param({"1000000"})
+    public int produtos;
+
+    @Param({"mouse sem fio logitech 4821", "teclado", "ca"})
+    public String consulta;
+
+    private IndiceBusca indice;
+
+    @Setup
+    public void setUp() {
+        indice = new IndiceBusca();
+        Random aleatorio = new Random(42);
+        for (long id = 1; id <= produtos; id++) {
+            String nome = TIPOS[aleatorio.nextInt(TIPOS.length)] + " "
+                    + DETALHES[aleatorio.nextInt(DETALHES.length)] + " "
+                    + MARCAS[aleatorio.nextInt(MARCAS.length)] + " "
+                    + CORES[aleatorio.nextInt(CORES.length)] + " " + aleatorio.nextInt(10_000);
+            indice.indexar(id, nome, CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)]);
+        }
+    }
+
+    @Benchmark
+    public List<Long> buscar() {
+        return indice.buscar(consulta, 20);
+    }
+}
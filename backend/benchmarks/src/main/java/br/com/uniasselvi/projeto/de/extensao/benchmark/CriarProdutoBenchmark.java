@@ -0,0 +1,69 @@
+package br.com.uniasselvi.projeto.de.extensao.benchmark;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import br.com.uniasselvi.projeto.de.extensao.service.ProdutoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ProdutoService.criar de ponta a ponta (checagem de nome, INSERT do produto, do movimento de estoque, do estoque
+// no depósito principal e do outbox, contadores do dashboard) com a aplicação inteira de pé sobre um H2 em memória
+// (AplicacaoH2).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CriarProdutoBenchmark {
+
+    private ConfigurableApplicationContext contexto;
+    private ProdutoService service;
+    private final AtomicLong sequencia = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        contexto = AplicacaoH2.subir("benchmark");
+        JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+        // O evento do outbox é montado com jsonb_build_object (Postgres); no H2 a função é a de baixo
+        jdbc.execute("CREATE ALIAS jsonb_build_object FOR '" + CriarProdutoBenchmark.class.getName() + ".jsonbBuildObject'");
+        service = contexto.getBean(ProdutoService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    // jsonb_build_object('chave', valor, ...) para o H2. O H2 passa tudo como texto, então os valores saem
+    // como strings JSON: o custo medido é o mesmo, o formato exato do evento não importa aqui
+    public static String jsonbBuildObject(String... pares) {
+        StringJoiner json = new StringJoiner(",", "{", "}");
+        for (int i = 0; i < pares.length; i += 2) {
+            String valor = pares[i + 1];
+            json.add("\"" + pares[i] + "\":" + (valor == null ? "null" : "\"" + valor.replace("\"", "\\\"") + "\""));
+        }
+        return json.toString();
+    }
+
+    @Benchmark
+    public Produto criar() {
+        long n = sequencia.incrementAndGet();
+        return service.criar(new Produto(null, "Produto " + n, new BigDecimal("19.90"), n % 2 == 0 ? "Eletronicos" : "Acessorios", 10));
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.uniasselvi.projeto.de.extensao.benchmark;
+
+import br.com.uniasselvi.projeto.de.extensao.dto.DashboardResumoDTO;
+import br.com.uniasselvi.projeto.de.extensao.service.DashboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Agregação do dashboard sobre um H2 em memória (AplicacaoH2): resumo() é o que GET /produtos/dashboard/resumo
+// faz a cada acesso (só os contadores em memória) e reconciliar() é a conferência agendada, com o GROUP BY por
+// categoria no banco. A diferença entre os dois é o que os contadores economizam por requisição.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardBenchmark {
+
+    private static final String[] CATEGORIAS = {"Eletrônicos", "Informática", "Papelaria", "Alimentos",
+            "Limpeza", "Móveis", "Ferramentas", "Brinquedos"};
+
+    @Param({"10000", "100000"})
+    public int produtos;
+
+    private ConfigurableApplicationContext contexto;
+    private DashboardService service;
+
+    @Setup
+    public void setUp() {
+        contexto = AplicacaoH2.subir("dashboard");
+        Random aleatorio = new Random(42);
+        List<Object[]> linhas = new ArrayList<>(produtos);
+        for (long id = 1; id <= produtos; id++) {
+            linhas.add(new Object[]{id, "Produto " + id, BigDecimal.valueOf(aleatorio.nextInt(100, 100_000), 2),
+                    CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)], aleatorio.nextInt(0, 200)});
+        }
+        contexto.getBean(JdbcTemplate.class).batchUpdate(
+                "INSERT INTO produto (id, nome, preco, categoria, quantidade, versao) VALUES (?, ?, ?, ?, ?, 0)",
+                linhas);
+        service = contexto.getBean(DashboardService.class);
+        service.reconciliar(); // Carga inicial dos contadores
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public DashboardResumoDTO resumo() {
+        return service.resumo();
+    }
+
+    @Benchmark
+    public void reconciliar() {
+        service.reconciliar();
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.uniasselvi.projeto.de.extensao.benchmark;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.Usuario;
+import br.com.uniasselvi.projeto.de.extensao.repository.UsuarioRepository;
+import br.com.uniasselvi.projeto.de.extensao.security.SecurityFilter;
+import br.com.uniasselvi.projeto.de.extensao.security.TokenCache;
+import br.com.uniasselvi.projeto.de.extensao.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// O filtro roda em toda requisição autenticada: mede o caminho com token em cache,
+// o caminho sem cache (verificação do JWT + busca do usuário) e a requisição sem token.
+// O "banco" aqui é um repositório falso que devolve o usuário na hora, para medir só o filtro.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterBenchmark {
+
+    private static final FilterChain NADA = (request, response) -> { };
+
+    private SecurityFilter filtro;
+    private TokenCache tokenCache;
+    private MockHttpServletRequest comToken;
+    private MockHttpServletRequest semToken;
+    private MockHttpServletResponse resposta;
+
+    @Setup
+    public void setUp() {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", "segredo-do-benchmark");
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+
+        Usuario usuario = new Usuario("maria", "hash", "USER");
+        UsuarioRepository repositorio = (UsuarioRepository) Proxy.newProxyInstance(
+                UsuarioRepository.class.getClassLoader(), new Class<?>[]{UsuarioRepository.class},
+                (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("findByLogin")) return usuario;
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+
+        tokenCache = new TokenCache(10_000, Duration.ofMinutes(10));
+        filtro = new SecurityFilter();
+        ReflectionTestUtils.setField(filtro, "tokenService", tokenService);
+        ReflectionTestUtils.setField(filtro, "userRepository", repositorio);
+        ReflectionTestUtils.setField(filtro, "tokenCache", tokenCache);
+        ReflectionTestUtils.setField(filtro, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(filtro, "registrarMetricas");
+
+        comToken = new MockHttpServletRequest("GET", "/produtos");
+        comToken.addHeader("Authorization", "Bearer " + tokenService.generateToken(usuario));
+        semToken = new MockHttpServletRequest("GET", "/produtos");
+        resposta = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void tokenEmCache() throws Exception {
+        filtrar(comToken);
+    }
+
+    @Benchmark
+    public void tokenSemCache() throws Exception {
+        tokenCache.limpar();
+        filtrar(comToken);
+    }
+
+    @Benchmark
+    public void semToken() throws Exception {
+        filtrar(semToken);
+    }
+
+    private void filtrar(MockHttpServletRequest requisicao) throws Exception {
+        filtro.doFilter(requisicao, resposta, NADA);
+        // O OncePerRequestFilter marca a requisição como já filtrada; tiramos a marca para a próxima volta
+        requisicao.removeAttribute(SecurityFilter.class.getName() + ".FILTERED");
+        SecurityContextHolder.clearContext();
+    }
+}
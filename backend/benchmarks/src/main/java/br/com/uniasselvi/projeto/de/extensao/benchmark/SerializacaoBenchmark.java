@@ -0,0 +1,67 @@
+package br.com.uniasselvi.projeto.de.extensao.benchmark;
+
+import br.com.uniasselvi.projeto.de.extensao.entity.Produto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Custo de transformar a lista de produtos em JSON (GET /produtos, export, respostas paginadas)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"1000", "100000"})
+    private int tamanho;
+
+    private ObjectWriter escritor;
+    private List<Produto> produtos;
+
+    @Setup
+    public void setUp() {
+        // Mesma configuração que o Spring usa nas respostas
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        escritor = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Produto.class));
+
+        String[] categorias = {"Eletronicos", "Acessorios", "Informatica", "Papelaria"};
+        produtos = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            Produto produto = new Produto((long) i + 1, "Produto " + i, BigDecimal.valueOf(1000 + (i % 500) * 75L, 2),
+                    categorias[i % categorias.length], i % 200);
+            produto.setVersao((long) (i % 7));
+            produtos.add(produto);
+        }
+    }
+
+    // Escreve num stream que descarta os bytes: mede a serialização, não a cópia para um array
+    @Benchmark
+    public void serializarLista() throws IOException {
+        escritor.writeValue(OutputStream.nullOutputStream(), produtos);
+    }
+
+    @Benchmark
+    public byte[] serializarListaParaBytes() throws IOException {
+        return escritor.writeValueAsBytes(produtos);
+    }
+}
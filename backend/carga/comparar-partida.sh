@@ -0,0 +1,86 @@
+#!/usr/bin/env bash
+# Compara tempo de partida e memória (RSS) da API em cada modo do perfil "aot" do backend/pom.xml:
+#   jar      JAR extraído, sem CDS e sem AOT
+#   cds      com o arquivo CDS (app.jsa) gerado no build
+#   cds+aot  CDS e as definições de beans geradas pelo AOT do Spring
+#   nativo   executável do GraalVM (só se target/projeto-de-extensao existir)
+#
+# Gere os artefatos antes (em backend/):
+#   mvn -Paot package -DskipTests
+#   mvn -Paot,native native:compile -DskipTests      (opcional, precisa do GraalVM)
+# e rode, com o banco no ar:
+#   DATABASE_URL=jdbc:postgresql://localhost:5432/estoque DATABASE_USERNAME=... DATABASE_PASSOWORD=... \
+#       carga/comparar-partida.sh
+#
+# Cada modo sobe RODADAS vezes. O tempo é o que o Spring informa em "Started ... in X seconds" e a
+# memória é o RSS do processo assim que a aplicação fica pronta. Antes das medições a aplicação sobe
+# uma vez sem contar, para o Flyway já ter migrado o banco e os arquivos estarem no cache do sistema.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+APP=target/app
+NATIVO=target/projeto-de-extensao
+RODADAS=${RODADAS:-5}
+PORTA=${PORTA:-8089}
+ESPERA=${ESPERA:-120}
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+if [[ ! -f "$APP/projeto-de-extensao.jar" ]]; then
+    echo "Não achei $APP/projeto-de-extensao.jar; rode antes: mvn -Paot package -DskipTests" >&2
+    exit 1
+fi
+
+# Sobe o comando, espera a linha "Started" e imprime "segundos rss_kb"
+subir() {
+    local pid segundos rss
+    SERVER_PORT=$PORTA "$@" > "$LOG" 2>&1 &
+    pid=$!
+    for _ in $(seq $((ESPERA * 10))); do
+        if grep -q "Started .* in" "$LOG"; then
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "A aplicação saiu antes de ficar pronta:" >&2
+            tail -20 "$LOG" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+    segundos=$(grep -m1 -oE "Started .* in [0-9.]+ seconds" "$LOG" | grep -oE "[0-9.]+ seconds" | cut -d' ' -f1)
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    if [[ -z "$segundos" ]]; then
+        echo "A aplicação não ficou pronta em ${ESPERA}s" >&2
+        exit 1
+    fi
+    echo "$segundos $rss"
+}
+
+medir() {
+    local nome=$1
+    shift
+    local total_s=0 total_rss=0 resultado
+    for _ in $(seq "$RODADAS"); do
+        resultado=$(subir "$@")
+        total_s=$(echo "$total_s + ${resultado% *}" | bc -l)
+        total_rss=$((total_rss + ${resultado#* }))
+    done
+    printf "%-8s  partida média %6.3f s   RSS médio %6d MB\n" "$nome" \
+        "$(echo "$total_s / $RODADAS" | bc -l)" $((total_rss / RODADAS / 1024))
+}
+
+echo "=== aquecimento (não conta)"
+subir java -jar "$APP/projeto-de-extensao.jar" > /dev/null
+
+echo "=== $RODADAS rodadas por modo"
+medir "jar" java -jar "$APP/projeto-de-extensao.jar"
+medir "cds" java -XX:SharedArchiveFile="$APP/app.jsa" -jar "$APP/projeto-de-extensao.jar"
+medir "cds+aot" java -XX:SharedArchiveFile="$APP/app.jsa" -Dspring.aot.enabled=true -jar "$APP/projeto-de-extensao.jar"
+if [[ -x "$NATIVO" ]]; then
+    medir "nativo" "$NATIVO"
+else
+    echo "nativo    (sem $NATIVO; gere com mvn -Paot,native native:compile -DskipTests)"
+fi
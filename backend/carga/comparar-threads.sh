@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Compara a mesma carga contra duas instâncias da API: uma com o pool de threads do Tomcat
+# e outra com threads virtuais. Precisa do "hey" (https://github.com/rakyll/hey) e de Java 21
+# na instância virtual.
+#
+# Suba as duas antes (mesmo banco, portas diferentes):
+#   SERVER_PORT=8080 VIRTUAL_THREADS=false java -jar app.jar
+#   SERVER_PORT=8081 VIRTUAL_THREADS=true  java -Djdk.tracePinnedThreads=short -jar app.jar
+# e rode:
+#   ./comparar-threads.sh http://localhost:8080 http://localhost:8081
+#
+# Com -Djdk.tracePinnedThreads=short a JVM imprime uma pilha sempre que uma thread virtual
+# fica presa à thread de plataforma; durante a carga o log não deve mostrar nenhuma.
+set -euo pipefail
+
+PLATAFORMA=${1:-http://localhost:8080}
+VIRTUAL=${2:-http://localhost:8081}
+CONEXOES=${CONEXOES:-400}
+DURACAO=${DURACAO:-30s}
+USUARIO=${USUARIO:-carga}
+SENHA=${SENHA:-carga123}
+
+token() {
+    curl -s -o /dev/null -X POST "$1/auth/register" -H 'Content-Type: application/json' \
+        -d "{\"login\":\"$USUARIO\",\"senha\":\"$SENHA\",\"role\":\"ADMIN\"}" || true
+    curl -s -X POST "$1/auth/login" -H 'Content-Type: application/json' \
+        -d "{\"login\":\"$USUARIO\",\"senha\":\"$SENHA\"}" | sed -E 's/.*"token":"([^"]+)".*/\1/'
+}
+
+rodar() {
+    local nome=$1 base=$2 tk
+    tk=$(token "$base")
+    for caminho in "/produtos/pagina?limite=50" "/produtos/dashboard/resumo"; do
+        echo "=== $nome  GET $caminho  ($CONEXOES conexões, $DURACAO)"
+        hey -z "$DURACAO" -c "$CONEXOES" -H "Authorization: Bearer $tk" "$base$caminho" \
+            | grep -E "Requests/sec|Average|50% in|99% in|\[[0-9]{3}\]"
+    done
+}
+
+rodar "plataforma" "$PLATAFORMA"
+rodar "virtual   " "$VIRTUAL"
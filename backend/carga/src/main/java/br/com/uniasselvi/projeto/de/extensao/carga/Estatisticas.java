@@ -0,0 +1,67 @@
+package br.com.uniasselvi.projeto.de.extensao.carga;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latências em microssegundos por operação. O Recorder aceita gravação de várias threads sem lock
+// e, a cada intervalo() devolve só o que foi gravado desde a última chamada (assim o aquecimento fica de fora)
+class Estatisticas {
+
+    // até 60 s, com 3 dígitos de precisão
+    private static final long MAXIMO_US = TimeUnit.SECONDS.toMicros(60);
+
+    private final Map<Operacao, Recorder> latencias = new EnumMap<>(Operacao.class);
+    private final Map<Operacao, LongAdder> erros = new EnumMap<>(Operacao.class);
+
+    Estatisticas() {
+        for (Operacao operacao : Operacao.values()) {
+            latencias.put(operacao, new Recorder(MAXIMO_US, 3));
+            erros.put(operacao, new LongAdder());
+        }
+    }
+
+    void registrar(Operacao operacao, long nanos, boolean sucesso) {
+        latencias.get(operacao).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAXIMO_US));
+        if (!sucesso) {
+            erros.get(operacao).increment();
+        }
+    }
+
+    // Fecha o intervalo atual; com segundos <= 0 só descarta (fim do aquecimento)
+    List<Resultado> intervalo(double segundos) {
+        List<Resultado> resultados = new ArrayList<>();
+        for (Operacao operacao : Operacao.values()) {
+            Histogram histograma = latencias.get(operacao).getIntervalHistogram();
+            long falhas = erros.get(operacao).sumThenReset();
+            long total = histograma.getTotalCount();
+            if (segundos <= 0 || total == 0) {
+                continue;
+            }
+            resultados.add(new Resultado(operacao.chave(), total, falhas,
+                    ms(histograma.getValueAtPercentile(50)),
+                    ms(histograma.getValueAtPercentile(99)),
+                    ms(histograma.getMaxValue()),
+                    total / segundos));
+        }
+        return resultados;
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    record Resultado(String operacao, long total, long erros, double p50Ms, double p99Ms, double maxMs,
+                     double porSegundo) {
+
+        double errosPct() {
+            return total == 0 ? 0 : 100.0 * erros / total;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.uniasselvi.projeto.de.extensao.carga;
+
+import br.com.uniasselvi.projeto.de.extensao.carga.Estatisticas.Resultado;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+// Limites aceitos (limites.properties): <operacao>.p50-ms, <operacao>.p99-ms e <operacao>.erros-pct.
+// Operação sem chave não é conferida; "erros-pct" sozinho vale para todas
+class Limites {
+
+    private final Properties propriedades = new Properties();
+
+    Limites(Path arquivo) throws IOException {
+        try (Reader leitor = Files.newBufferedReader(arquivo)) {
+            propriedades.load(leitor);
+        }
+    }
+
+    // Devolve uma linha para cada limite estourado (vazia = passou)
+    List<String> conferir(List<Resultado> resultados) {
+        List<String> violacoes = new ArrayList<>();
+        for (Resultado resultado : resultados) {
+            conferir(violacoes, resultado.operacao(), "p50-ms", resultado.p50Ms());
+            conferir(violacoes, resultado.operacao(), "p99-ms", resultado.p99Ms());
+            conferir(violacoes, resultado.operacao(), "erros-pct", resultado.errosPct());
+        }
+        return violacoes;
+    }
+
+    private void conferir(List<String> violacoes, String operacao, String medida, double valor) {
+        String limite = propriedades.getProperty(operacao + "." + medida, propriedades.getProperty(medida));
+        if (limite != null && valor > Double.parseDouble(limite.trim())) {
+            violacoes.add(String.format("%s %s = %.2f (limite %s)", operacao, medida, valor, limite.trim()));
+        }
+    }
+}
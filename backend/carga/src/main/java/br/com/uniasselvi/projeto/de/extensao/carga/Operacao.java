@@ -0,0 +1,36 @@
+package br.com.uniasselvi.projeto.de.extensao.carga;
+
+import java.util.Locale;
+
+// Mistura de requisições do teste: o peso é a porcentagem de vezes que cada uma é sorteada.
+// Login fica fora do sorteio: tem threads próprias (carga.logins-simultaneos, ver TesteDeCarga.rodar)
+enum Operacao {
+    LOGIN(0),      // POST /auth/login (BCrypt no pool de hash)
+    PAGINA(45),    // GET /produtos/pagina com cursor e filtro
+    DASHBOARD(20), // GET /produtos/dashboard e /dashboard/resumo
+    CRIAR(15),     // POST /produtos
+    ALTERAR(15),   // PUT /produtos/{id} num produto da carga inicial
+    EXCLUIR(5);    // DELETE /produtos/{id} de um produto criado durante o teste
+
+    private final int peso;
+
+    Operacao(int peso) {
+        this.peso = peso;
+    }
+
+    // valor entre 0 e 99
+    static Operacao sortear(int valor) {
+        int acumulado = 0;
+        for (Operacao operacao : values()) {
+            acumulado += operacao.peso;
+            if (valor < acumulado) {
+                return operacao;
+            }
+        }
+        return PAGINA;
+    }
+
+    String chave() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,319 @@
+package br.com.uniasselvi.projeto.de.extensao.carga;
+
+import br.com.uniasselvi.projeto.de.extensao.ProjetoDeExtensaoApplication;
+import br.com.uniasselvi.projeto.de.extensao.carga.Estatisticas.Resultado;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga de ponta a ponta. Sem carga.url, sobe um Postgres embutido e a aplicação numa porta livre
+ * (mesmas migrações do Flyway da produção); depois cadastra produtos e usuários, aquece, mede e confere
+ * os limites. Sai com código 1 se algum limite for estourado, para o mvn verify falhar.
+ */
+public class TesteDeCarga {
+
+    private static final String[] CATEGORIAS = {
+            "Eletronicos", "Informatica", "Moveis", "Papelaria", "Limpeza", "Alimentos", "Brinquedos", "Ferramentas"
+    };
+    private static final int TAMANHO_LOTE = 1000;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Estatisticas estatisticas = new Estatisticas();
+
+    private final String url;
+    // Prefixo dos nomes: dá para rodar de novo contra o mesmo banco sem 409 de nome repetido
+    private final String prefixo = "carga-" + Long.toString(System.currentTimeMillis(), 36);
+    private final List<String> logins = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Semente> sementes = new ArrayList<>();
+    private final Queue<Long> criados = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequencia = new AtomicLong();
+
+    private volatile boolean rodando = true;
+
+    private TesteDeCarga(String url) {
+        this.url = url;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int produtos = Integer.getInteger("carga.produtos", 5000);
+        int usuarios = Integer.getInteger("carga.usuarios", 20);
+        int concorrencia = Integer.getInteger("carga.concorrencia", 32);
+        int loginsSimultaneos = Integer.getInteger("carga.logins-simultaneos", 1);
+        int aquecimento = Integer.getInteger("carga.aquecimento", 10);
+        int duracao = Integer.getInteger("carga.duracao", 30);
+        String limites = System.getProperty("carga.limites", "limites.properties");
+        String externa = System.getProperty("carga.url", "");
+
+        EmbeddedPostgres postgres = null;
+        ConfigurableApplicationContext aplicacao = null;
+        int codigo;
+        try {
+            String url = externa;
+            if (url.isBlank()) {
+                postgres = EmbeddedPostgres.builder().start();
+                aplicacao = subirAplicacao(postgres);
+                url = "http://localhost:" + aplicacao.getEnvironment().getProperty("local.server.port");
+            }
+
+            TesteDeCarga teste = new TesteDeCarga(url);
+            teste.cadastrarUsuarios(usuarios);
+            teste.cadastrarProdutos(produtos);
+
+            System.out.printf("%nAquecendo %d s com %d threads (+%d de login)...%n", aquecimento, concorrencia,
+                    loginsSimultaneos);
+            teste.rodar(concorrencia, loginsSimultaneos, aquecimento);
+            System.out.printf("Medindo %d s...%n", duracao);
+            List<Resultado> resultados = teste.rodar(concorrencia, loginsSimultaneos, duracao);
+
+            imprimir(resultados);
+            List<String> violacoes = new Limites(Path.of(limites)).conferir(resultados);
+            teste.gravar(resultados, violacoes, Map.of("url", url, "produtos", produtos, "usuarios", usuarios,
+                    "concorrencia", concorrencia, "loginsSimultaneos", loginsSimultaneos, "aquecimento", aquecimento,
+                    "duracao", duracao));
+
+            violacoes.forEach(violacao -> System.out.println("LIMITE ESTOURADO: " + violacao));
+            codigo = violacoes.isEmpty() ? 0 : 1;
+        } finally {
+            if (aplicacao != null) {
+                aplicacao.close();
+            }
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+        System.exit(codigo);
+    }
+
+    // Argumentos de linha de comando ganham do application.properties, então não precisa de variável de ambiente
+    private static ConfigurableApplicationContext subirAplicacao(EmbeddedPostgres postgres) {
+        return SpringApplication.run(ProjetoDeExtensaoApplication.class,
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                // Toda a carga vem do mesmo IP e dos mesmos poucos logins: sem isso o limitador devolve 429
+                "--auth.limite.ip.capacidade=1000000",
+                "--auth.limite.ip.por-minuto=1000000",
+                "--auth.limite.login.capacidade=1000000",
+                "--auth.limite.login.por-minuto=1000000",
+                "--logging.level.root=WARN");
+    }
+
+    // --- PREPARAÇÃO ---
+
+    private void cadastrarUsuarios(int quantidade) throws IOException, InterruptedException {
+        for (int i = 0; i < quantidade; i++) {
+            String login = prefixo + "-" + i;
+            enviar("POST", "/auth/register", Map.of("login", login, "senha", login, "role", "USER"), null);
+            HttpResponse<String> resposta = enviar("POST", "/auth/login", Map.of("login", login, "senha", login), null);
+            exigir(resposta, "login de " + login);
+            logins.add(login);
+            tokens.add(mapper.readTree(resposta.body()).get("token").asText());
+        }
+    }
+
+    private void cadastrarProdutos(int quantidade) throws IOException, InterruptedException {
+        Instant inicio = Instant.now();
+        for (int inicioLote = 0; inicioLote < quantidade; inicioLote += TAMANHO_LOTE) {
+            List<Map<String, Object>> lote = new ArrayList<>();
+            for (int i = inicioLote; i < Math.min(quantidade, inicioLote + TAMANHO_LOTE); i++) {
+                lote.add(produto(prefixo + "-semente-" + i));
+            }
+            HttpResponse<String> resposta = enviar("POST", "/produtos/batch", lote, tokens.get(0));
+            exigir(resposta, "carga inicial");
+            for (JsonNode item : mapper.readTree(resposta.body()).get("itens")) {
+                if (item.get("status").asInt() == 201) {
+                    Map<String, Object> original = lote.get(item.get("indice").asInt());
+                    sementes.add(new Semente(item.get("id").asLong(), (String) original.get("nome"),
+                            (String) original.get("categoria")));
+                }
+            }
+        }
+        System.out.printf("%d produtos cadastrados em %d ms%n", sementes.size(),
+                Duration.between(inicio, Instant.now()).toMillis());
+    }
+
+    // --- CARGA ---
+
+    // Cada thread repete a mistura de Operacao sem pausa (circuito fechado). Login não entra nela: um login
+    // custa um hash BCrypt inteiro e o pool de hash tem uma thread por núcleo, então no sorteio quase todas as
+    // threads acabariam paradas na fila do hash e o p99 de login mediria só o tamanho dessa fila.
+    // Logins têm suas próprias threads (carga.logins-simultaneos), cada uma só com login.
+    private List<Resultado> rodar(int concorrencia, int loginsSimultaneos, int segundos) throws InterruptedException {
+        rodando = true;
+        CountDownLatch fim = new CountDownLatch(concorrencia + loginsSimultaneos);
+        for (int i = 0; i < concorrencia; i++) {
+            String token = tokens.get(i % tokens.size());
+            iniciar("carga-" + i, fim,
+                    () -> executar(Operacao.sortear(ThreadLocalRandom.current().nextInt(100)), token));
+        }
+        for (int i = 0; i < loginsSimultaneos; i++) {
+            iniciar("carga-login-" + i, fim, () -> executar(Operacao.LOGIN, null));
+        }
+        long inicio = System.nanoTime();
+        Thread.sleep(segundos * 1000L);
+        rodando = false;
+        fim.await();
+        return estatisticas.intervalo((System.nanoTime() - inicio) / 1e9);
+    }
+
+    private void iniciar(String nome, CountDownLatch fim, Runnable requisicao) {
+        new Thread(() -> {
+            try {
+                while (rodando) {
+                    requisicao.run();
+                }
+            } finally {
+                fim.countDown();
+            }
+        }, nome).start();
+    }
+
+    private void executar(Operacao operacao, String token) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        Long paraExcluir = null;
+        if (operacao == Operacao.EXCLUIR) {
+            paraExcluir = criados.poll();
+            if (paraExcluir == null) {
+                operacao = Operacao.CRIAR; // nada criado ainda para excluir
+            }
+        }
+
+        long inicio = System.nanoTime();
+        boolean sucesso;
+        try {
+            sucesso = switch (operacao) {
+                case LOGIN -> {
+                    String login = logins.get(aleatorio.nextInt(logins.size()));
+                    yield ok(enviar("POST", "/auth/login", Map.of("login", login, "senha", login), null));
+                }
+                case PAGINA -> {
+                    String caminho = "/produtos/pagina?limite=50&cursor=" + sementeAleatoria().id();
+                    if (aleatorio.nextBoolean()) {
+                        caminho += "&categoria=" + CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)];
+                    }
+                    yield ok(enviar("GET", caminho, null, token));
+                }
+                case DASHBOARD -> ok(enviar("GET",
+                        aleatorio.nextBoolean() ? "/produtos/dashboard" : "/produtos/dashboard/resumo", null, token));
+                case CRIAR -> {
+                    HttpResponse<String> resposta = enviar("POST", "/produtos",
+                            produto(prefixo + "-novo-" + sequencia.incrementAndGet()), token);
+                    if (ok(resposta)) {
+                        criados.add(mapper.readTree(resposta.body()).get("id").asLong());
+                    }
+                    yield ok(resposta);
+                }
+                case ALTERAR -> {
+                    Semente semente = sementeAleatoria();
+                    Map<String, Object> corpo = produto(semente.nome());
+                    corpo.put("categoria", semente.categoria());
+                    yield ok(enviar("PUT", "/produtos/" + semente.id(), corpo, token));
+                }
+                case EXCLUIR -> ok(enviar("DELETE", "/produtos/" + paraExcluir, null, token));
+            };
+        } catch (IOException e) {
+            sucesso = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        estatisticas.registrar(operacao, System.nanoTime() - inicio, sucesso);
+    }
+
+    private Semente sementeAleatoria() {
+        return sementes.get(ThreadLocalRandom.current().nextInt(sementes.size()));
+    }
+
+    private Map<String, Object> produto(String nome) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        Map<String, Object> produto = new LinkedHashMap<>();
+        produto.put("nome", nome);
+        produto.put("preco", aleatorio.nextInt(100, 100_000) / 100.0);
+        produto.put("categoria", CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)]);
+        produto.put("quantidade", aleatorio.nextInt(0, 200));
+        return produto;
+    }
+
+    // --- HTTP ---
+
+    private HttpResponse<String> enviar(String metodo, String caminho, Object corpo, String token)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(url + caminho))
+                .timeout(Duration.ofSeconds(30))
+                .method(metodo, corpo == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(corpo)));
+        if (corpo != null) {
+            requisicao.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            requisicao.header("Authorization", "Bearer " + token);
+        }
+        return http.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean ok(HttpResponse<String> resposta) {
+        return resposta.statusCode() / 100 == 2;
+    }
+
+    private static void exigir(HttpResponse<String> resposta, String etapa) {
+        if (!ok(resposta)) {
+            throw new IllegalStateException(etapa + " falhou: HTTP " + resposta.statusCode() + " " + resposta.body());
+        }
+    }
+
+    // --- RELATÓRIO ---
+
+    private static void imprimir(List<Resultado> resultados) {
+        System.out.printf("%n%-10s %9s %7s %9s %9s %9s %9s%n", "operacao", "total", "erros", "p50 ms", "p99 ms",
+                "max ms", "req/s");
+        for (Resultado r : resultados) {
+            System.out.printf("%-10s %9d %7d %9.2f %9.2f %9.2f %9.1f%n", r.operacao(), r.total(), r.erros(),
+                    r.p50Ms(), r.p99Ms(), r.maxMs(), r.porSegundo());
+        }
+        System.out.printf("%-10s %9.1f req/s%n%n", "total",
+                resultados.stream().mapToDouble(Resultado::porSegundo).sum());
+    }
+
+    // Relativo ao diretório de trabalho (o exec roda em target/)
+    private void gravar(List<Resultado> resultados, List<String> violacoes, Map<String, Object> configuracao)
+            throws IOException {
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("data", Instant.now().toString());
+        relatorio.put("configuracao", configuracao);
+        relatorio.put("resultados", resultados);
+        relatorio.put("violacoes", violacoes);
+        mapper.writerWithDefaultPrettyPrinter().writeValue(Path.of("carga-resultado.json").toFile(), relatorio);
+    }
+
+    private record Semente(long id, String nome, String categoria) {
+    }
+}